@@ -89,6 +89,19 @@ public enum ArgumentStatus {
 // public static uint errorCount ();
 
 
+/* ---------------------------------------------------------------------------
+ * method dialectKey()
+ * ---------------------------------------------------------------------------
+ * Returns a string identifying the dialect mode and the settings of all
+ * mutable capabilities in effect, such as "pim4+synonyms+local-modules".
+ * Immutable capabilities follow from the dialect mode and are not listed.
+ * Two configurations have the same key if and only if they lex, parse and
+ * predefine identifiers alike.
+ * ------------------------------------------------------------------------ */
+
+// public static String dialectKey ();
+
+
 } /* ProtoArgumentParser */
 
 /* END OF FILE */
\ No newline at end of file
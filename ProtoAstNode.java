@@ -53,6 +53,10 @@ interface ProtoAstNode {
 
 public enum Status {
   SUCCESS,
+  INVALID_NODE_TYPE,
+  INVALID_SUBNODE_COUNT,
+  INVALID_SUBNODE_TYPE,
+  INVALID_INDEX,
   TODO
 } /* Status */
 
@@ -78,12 +82,16 @@ public Result<ProtoAstNode, Status> emptyNode ();
  *    and type and number of subnodes must match the given node type.
  *
  * post-conditions:
- * o  newly created ast node is returned
+ * o  newly created ast node is returned in value
+ * o  SUCCESS is returned in status
  *
  * error-conditions:
- * o  if node_type is invalid, no node is created and null is returned
- * o  if type and number of subnodes does not match the given node type,
- *    no node is created and null is returned
+ * o  if node_type is invalid, no node is created,
+ *    value is null, status is INVALID_NODE_TYPE
+ * o  if the number of subnodes does not match the given node type,
+ *    no node is created, value is null, status is INVALID_SUBNODE_COUNT
+ * o  if the type of any subnode does not match the given node type,
+ *    no node is created, value is null, status is INVALID_SUBNODE_TYPE
  * ------------------------------------------------------------------------ */
 
 public Result<ProtoAstNode, Status>
@@ -123,6 +131,104 @@ public Result<ProtoAstNode, Status>
   newTerminalListNode (ProtoAstNodeType nodeType, TermList list);
 
 
+/* ---------------------------------------------------------------------------
+ * Allocation free node construction and access
+ * ---------------------------------------------------------------------------
+ * The methods below return nodes directly instead of paired results.  The
+ * status of the last such call is recorded per thread and may be obtained
+ * by calling method status().  The parser uses these methods when building
+ * an AST so that no result pair is allocated per node.  The constructors
+ * newNode(), newListNode(), newTerminalNode() and newTerminalListNode()
+ * above and method subnodeForIndex() below are adapters that call the
+ * corresponding direct method and pair its return value with the recorded
+ * status.
+ * ------------------------------------------------------------------------ */
+
+/* ---------------------------------------------------------------------------
+ * constructor makeNode(nodeType, subnode0, subnode1, subnode2, ...)
+ * ---------------------------------------------------------------------------
+ * Creates new branch node of the given node type, stores the subnodes of
+ * the argument list in the node and returns the node, or null on failure.
+ *
+ * pre-conditions:
+ * o  node_type must be a valid node type
+ * o  a non-empty list of valid ast nodes must be passed
+ *    and type and number of subnodes must match the given node type.
+ *
+ * post-conditions:
+ * o  newly created ast node is returned
+ * o  status is set to SUCCESS
+ *
+ * error-conditions:
+ * o  if node_type is invalid, no node is created, null is returned
+ *    and status is set to INVALID_NODE_TYPE
+ * o  if the number of subnodes does not match the given node type,
+ *    no node is created, null is returned
+ *    and status is set to INVALID_SUBNODE_COUNT
+ * o  if the type of any subnode does not match the given node type,
+ *    no node is created, null is returned
+ *    and status is set to INVALID_SUBNODE_TYPE
+ * ------------------------------------------------------------------------ */
+
+public ProtoAstNode
+  makeNode (ProtoAstNodeType nodeType, ProtoAstNode... subnodes);
+
+
+/* ---------------------------------------------------------------------------
+ * method makeListNode(nodeType, nodeList)
+ * ---------------------------------------------------------------------------
+ * Allocates a new branch node of the given node type, stores the subnodes of
+ * the given node list in the node and returns the node, or null on failure.
+ * Sets status as described for makeNode().
+ * ------------------------------------------------------------------------ */
+
+public ProtoAstNode makeListNode (ProtoAstNodeType nodeType, NodeList list);
+
+
+/* ---------------------------------------------------------------------------
+ * method makeTerminalNode(nodeType, value)
+ * ---------------------------------------------------------------------------
+ * Allocates a new terminal node of the given node type, stores the given
+ * terminal value in the node and returns the node, or null on failure.
+ * Sets status as described for makeNode().
+ * ------------------------------------------------------------------------ */
+
+public ProtoAstNode makeTerminalNode (ProtoAstNodeType nodeType, String value);
+
+
+/* ---------------------------------------------------------------------------
+ * method makeTerminalListNode(nodeType, terminalValueList)
+ * ---------------------------------------------------------------------------
+ * Allocates a new terminal node of the given node type, stores the values of
+ * the given value list in the node and returns the node, or null on failure.
+ * Sets status as described for makeNode().
+ * ------------------------------------------------------------------------ */
+
+public ProtoAstNode
+  makeTerminalListNode (ProtoAstNodeType nodeType, TermList list);
+
+
+/* ---------------------------------------------------------------------------
+ * method subnodeAt(node, index)
+ * ---------------------------------------------------------------------------
+ * Returns the subnode of node with the given index or null if no subnode of
+ * the given index is stored in node.  Sets status to SUCCESS if a subnode
+ * is returned, otherwise to INVALID_INDEX.
+ * ------------------------------------------------------------------------ */
+
+public ProtoAstNode subnodeAt (ProtoAstNode node, int index);
+
+
+/* ---------------------------------------------------------------------------
+ * method status()
+ * ---------------------------------------------------------------------------
+ * Returns the status of the last allocation free operation performed by the
+ * calling thread.
+ * ------------------------------------------------------------------------ */
+
+public Status status ();
+
+
 /* ---------------------------------------------------------------------------
  * method nodeTypeOf(node)
  * ---------------------------------------------------------------------------
@@ -191,6 +297,37 @@ public String
   replaceValue (ProtoAstNode inNode, int atIndex, String withValue);
 
 
+/* ---------------------------------------------------------------------------
+ * method setPosition(node, line, offset)
+ * ---------------------------------------------------------------------------
+ * Records the source position of the first symbol of the construct that node
+ * represents.  The parser records the position of every declaration node,
+ * every statement node and every AST_DECLLIST and AST_STMTSEQ node it
+ * builds, and it updates them on reparse, see ProtoParser.reparseMod().
+ * Positions are not checked.
+ * ------------------------------------------------------------------------ */
+
+public void setPosition (ProtoAstNode node, int line, int offset);
+
+
+/* ---------------------------------------------------------------------------
+ * method lineOf(node)
+ * ---------------------------------------------------------------------------
+ * Returns the source line recorded for node, or -1 if none was recorded.
+ * ------------------------------------------------------------------------ */
+
+public int lineOf (ProtoAstNode node);
+
+
+/* ---------------------------------------------------------------------------
+ * method offsetOf(node)
+ * ---------------------------------------------------------------------------
+ * Returns the source offset recorded for node, or -1 if none was recorded.
+ * ------------------------------------------------------------------------ */
+
+public int offsetOf (ProtoAstNode node);
+
+
 } /* ProtoAstNode */
 
 /* END OF FILE */
\ No newline at end of file
@@ -0,0 +1,104 @@
+/* M2J -- Modula-2 to Java Translator & Compiler
+ *
+ * Copyright (c) 2016 The Modula-2 Software Foundation
+ *
+ * Author & Maintainer: Benjamin Kowarsch <trijezdci@org.m2sf>
+ *
+ * @synopsis
+ *
+ * M2J is a multi-dialect Modula-2 to Java translator and via-Java compiler.
+ * It supports the dialects described in the 3rd and 4th editions of Niklaus
+ * Wirth's book "Programming in Modula-2" (PIM) published by Springer Verlag,
+ * and an extended mode with select features from the revised language by
+ * B.Kowarsch and R.Sutcliffe "Modula-2 Revision 2010" (M2R10).
+ *
+ * In translator mode, M2J translates Modula-2 source to Java source files.
+ * In compiler mode, M2J compiles Modula-2 source via Java source files
+ * to Java .class files using the host system's resident Java compiler.
+ *
+ * @repository
+ *
+ * https://github.com/m2sf/m2j
+ *
+ * @file
+ *
+ * ProtoClassWriter.java
+ *
+ * Public interface for direct AST to JVM class file output.
+ *
+ * @license
+ *
+ * M2J is free software: you can redistribute and/or modify it under the
+ * terms of the GNU Lesser General Public License (LGPL) either version 2.1
+ * or at your choice version 3 as published by the Free Software Foundation.
+ * However, you may not alter the copyright, author and license information.
+ *
+ * M2J is distributed in the hope that it will be useful,  but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  Read the license for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with m2j.  If not, see <https://www.gnu.org/copyleft/lesser.html>.
+ *
+ * NB: Components in the domain part of email addresses are in reverse order.
+ */
+
+package org.m2sf.m2j;
+
+interface ProtoClassWriter {
+
+/* ---------------------------------------------------------------------------
+ * Backend selection
+ * ---------------------------------------------------------------------------
+ * The backend used to produce .class files is selected as follows:
+ *
+ * o  If --xlat and --obj are both in effect, Java source is written to disk
+ *    by the code generator and compiled by ProtoJavaCompiler.compileFile().
+ *
+ * o  If --obj is in effect but --xlat is not and isAvailable() returns true,
+ *    the class files are written directly by WriteClasses().
+ *
+ * o  If --obj is in effect but --xlat is not and isAvailable() returns
+ *    false, Java source is generated into memory by the code generator and
+ *    compiled by ProtoJavaCompiler.compileSource().
+ *
+ * No option selects between the latter two, the choice depends solely on
+ * whether the class writer is available.
+ * ------------------------------------------------------------------------ */
+
+/* ---------------------------------------------------------------------------
+ * method isAvailable()
+ * ---------------------------------------------------------------------------
+ * Returns true if the class writer is included in this build of the
+ * compiler, otherwise false.
+ * ------------------------------------------------------------------------ */
+
+// public static boolean isAvailable ();
+
+
+/* ---------------------------------------------------------------------------
+ * method WriteClasses(outputDir, ast)
+ * ---------------------------------------------------------------------------
+ * Writes JVM bytecode for the given abstract syntax tree in class file format
+ * to the directory at outputDir and returns a paired result with the total
+ * number of bytes written and a status code.
+ *
+ * One module translates to several classes, the module class itself and
+ * any auxiliary classes, such as record classes under OBJECTS and VAR
+ * parameter holders.  One .class file is written for each of them, named
+ * and placed within outputDir exactly as ProtoJavaCompiler.compileSource()
+ * would for the Java source of the same module, so that both backends
+ * produce the same set of files.
+ *
+ * The class files are generated directly from the AST, no Java source is
+ * generated and the host system's Java compiler is not invoked.  See the
+ * backend selection rules above for when this method is used.
+ * ------------------------------------------------------------------------ */
+
+public Result<Number /* bytes written */, IOStatus>
+  WriteClasses (String outputDir, ProtoAstNode ast);
+
+
+} /* ProtoClassWriter */
+
+/* END OF FILE */
@@ -0,0 +1,479 @@
+/* M2J -- Modula-2 to Java Translator & Compiler
+ *
+ * Copyright (c) 2016 The Modula-2 Software Foundation
+ *
+ * Author & Maintainer: Benjamin Kowarsch <trijezdci@org.m2sf>
+ *
+ * @synopsis
+ *
+ * M2J is a multi-dialect Modula-2 to Java translator and via-Java compiler.
+ * It supports the dialects described in the 3rd and 4th editions of Niklaus
+ * Wirth's book "Programming in Modula-2" (PIM) published by Springer Verlag,
+ * and an extended mode with select features from the revised language by
+ * B.Kowarsch and R.Sutcliffe "Modula-2 Revision 2010" (M2R10).
+ *
+ * In translator mode, M2J translates Modula-2 source to Java source files.
+ * In compiler mode, M2J compiles Modula-2 source via Java source files
+ * to Java .class files using the host system's resident Java compiler.
+ *
+ * @repository
+ *
+ * https://github.com/m2sf/m2j
+ *
+ * @file
+ *
+ * ProtoCodeGenerator.java
+ *
+ * Public interface for the Java code generator.
+ *
+ * @license
+ *
+ * M2J is free software: you can redistribute and/or modify it under the
+ * terms of the GNU Lesser General Public License (LGPL) either version 2.1
+ * or at your choice version 3 as published by the Free Software Foundation.
+ * However, you may not alter the copyright, author and license information.
+ *
+ * M2J is distributed in the hope that it will be useful,  but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  Read the license for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with m2j.  If not, see <https://www.gnu.org/copyleft/lesser.html>.
+ *
+ * NB: Components in the domain part of email addresses are in reverse order.
+ */
+
+package org.m2sf.m2j;
+
+interface ProtoCodeGenerator {
+
+/* ---------------------------------------------------------------------------
+ * CASE statement translation limits
+ * ------------------------------------------------------------------------ */
+
+public static int CASE_MAX_ENUMERATED_LABELS = 1024; /* per statement */
+
+public static int CASE_MAX_BRANCH_TABLE_SIZE = 65536; /* entries */
+
+public static int CASE_BRANCH_TABLE_CHUNK_SIZE = 16384; /* entries */
+
+public static int CASE_MIN_DENSITY = 50; /* percent */
+
+
+/* ---------------------------------------------------------------------------
+ * type SetRepresentation
+ * ---------------------------------------------------------------------------
+ * Enumerated values representing Java representations of set types.
+ * ------------------------------------------------------------------------ */
+
+public enum SetRepresentation {
+  LONG_BITSET,            /* up to 64 elements, single long */
+  LONG_ARRAY_BITSET       /* more than 64 elements, array of long */
+} /* SetRepresentation */
+
+
+/* ---------------------------------------------------------------------------
+ * type AggregateLowering
+ * ---------------------------------------------------------------------------
+ * Enumerated values representing Java representations of arrays of records.
+ * ------------------------------------------------------------------------ */
+
+public enum AggregateLowering {
+  OBJECTS,                /* one Java object per record */
+  PARALLEL_ARRAYS,        /* one primitive array per record field */
+  FLAT_BUFFER             /* single ByteBuffer with computed field offsets */
+} /* AggregateLowering */
+
+
+/* ---------------------------------------------------------------------------
+ * type VarParamPassing
+ * ---------------------------------------------------------------------------
+ * Enumerated values representing Java translations of VAR parameters.
+ * ------------------------------------------------------------------------ */
+
+public enum VarParamPassing {
+  REFERENCE,              /* argument is already a Java reference */
+  RETURN_VALUE,           /* new value is returned to and stored by caller */
+  ARRAY_AND_INDEX,        /* array and element index are passed */
+  REUSED_HOLDER,          /* per-thread holder reused across calls */
+  NEW_HOLDER              /* new holder allocated per call */
+} /* VarParamPassing */
+
+
+/* ---------------------------------------------------------------------------
+ * type CaseTranslation
+ * ---------------------------------------------------------------------------
+ * Enumerated values representing Java translations of CASE statements.
+ * ------------------------------------------------------------------------ */
+
+public enum CaseTranslation {
+  SWITCH,                 /* Java switch with one case label per value */
+  BRANCH_TABLE,           /* table lookup of branch number, then switch */
+  BINARY_SEARCH           /* nested comparisons against range bounds */
+} /* CaseTranslation */
+
+
+/* ---------------------------------------------------------------------------
+ * Code generator status codes
+ * ------------------------------------------------------------------------ */
+
+public enum Status {
+  SUCCESS,
+  INVALID_AST,
+  OUTPUT_FAILED,
+  TODO
+} /* Status */
+
+
+/* ---------------------------------------------------------------------------
+ * method generateJava(ast, out)
+ * ---------------------------------------------------------------------------
+ * Generates Java source for the given abstract syntax tree and appends it to
+ * the given output target and returns a paired result with the number of
+ * characters written and a status code.
+ *
+ * The output target may be a file writer when Java source is to be written
+ * to disk, or a string builder when the Java source is to be passed on to
+ * the host Java compiler as an in-memory compilation unit.
+ *
+ * pre-conditions:
+ * o  ast must be the root node of an AST built by the parser
+ * o  out must be a valid output target
+ *
+ * post-conditions:
+ * o  Java source for ast is appended to out
+ * o  number of characters written is returned in value
+ * o  SUCCESS is returned in status
+ *
+ * error-conditions:
+ * o  if ast is not a valid AST, nothing is written,
+ *    value is zero, status is INVALID_AST
+ * o  if appending to out fails,
+ *    value is the number of chars written so far, status is OUTPUT_FAILED
+ * ------------------------------------------------------------------------ */
+
+public Result<Number /* chars written */, Status>
+  generateJava (ProtoAstNode ast, Appendable out);
+
+
+/* ---------------------------------------------------------------------------
+ * method generateJavaWithComments(ast, lexer, out)
+ * ---------------------------------------------------------------------------
+ * Generates Java source like generateJava() and carries the comments which
+ * have been recorded by the given lexer over into the output.  Used when
+ * option --preserve-comments is in effect.
+ *
+ * Comments are taken in source order.  Each comment is emitted as a Java
+ * comment ahead of the code generated for the first declaration or
+ * statement whose recorded source offset, as returned by method offsetOf()
+ * of the AST class, is greater than the offset of the comment as returned
+ * by method commentOffset() of the lexer.  Comments that follow the last
+ * declaration or statement are emitted at the end.  Nodes without a
+ * recorded position do not take any comments.
+ *
+ * pre-conditions:
+ * o  lexer must have been created with preserveComments set to true
+ *    and it must have been used by the parser to build ast
+ *
+ * post-conditions and error-conditions are the same as for generateJava()
+ * ------------------------------------------------------------------------ */
+
+public Result<Number /* chars written */, Status>
+  generateJavaWithComments
+    (ProtoAstNode ast, ProtoLexer lexer, Appendable out);
+
+
+/* ---------------------------------------------------------------------------
+ * method setRepresentationFor(setType)
+ * ---------------------------------------------------------------------------
+ * Returns the Java representation used for the given set type node, which
+ * must be an AST_SET node or an identifier denoting a set type such as
+ * BITSET.  Returns null if setType does not denote a set type.
+ *
+ * Set types whose base type has at most 64 values, such as BITSET, small
+ * enumerations and small subranges, are represented as a single long.  Set
+ * operations on them are translated to inline bitwise operations, where n
+ * is element e less the ordinal value of the first value of the base type,
+ * so subranges need not start at zero:
+ *
+ *   s + t  =>  s | t        INCL(s, e)  =>  s |= 1L << n
+ *   s - t  =>  s & ~t       EXCL(s, e)  =>  s &= ~(1L << n)
+ *   s * t  =>  s & t        e IN s      =>  (n >>> 6) == 0 &&
+ *   s / t  =>  s ^ t                        (s & (1L << n)) != 0
+ *   s <= t  =>  (s & ~t) == 0
+ *
+ * Let count be the number of values of the base type.  Java masks the
+ * shift count of a long shift to its low six bits, so a shift alone would
+ * test, set or clear the wrong bit for an element out of range, and bits
+ * at or above count must never be set, since they would take part in
+ * comparisons of sets.  Thus IN yields FALSE for any n outside of 0 ..
+ * count - 1 and INCL and EXCL are preceded by a range check which raises a
+ * range error unless n is within 0 .. count - 1, as for calls of class
+ * RuntimeSets.  Where count is 64, the guard of IN is (n >>> 6) == 0 as
+ * shown above, otherwise it is (n >= 0 && n < count), which also covers
+ * negative values of n.  The check is omitted where e is of the base type
+ * of the set, and it is made at translation time where e is a constant.
+ *
+ * Larger set types are represented as arrays of long and their operations
+ * are translated to calls of class RuntimeSets which work in place on the
+ * target variable, the same range checks apply.  No objects are allocated
+ * per set operation.
+ * ------------------------------------------------------------------------ */
+
+public SetRepresentation setRepresentationFor (ProtoAstNode setType);
+
+
+/* ---------------------------------------------------------------------------
+ * method aggregateLoweringFor(arrayType)
+ * ---------------------------------------------------------------------------
+ * Returns the Java representation used for the given array type node, which
+ * must be an AST_ARRAY node whose element type is a record type.  Returns
+ * null if arrayType is not such a node.
+ *
+ * o  PARALLEL_ARRAYS is used for arrays of AST_RECORD types whose fields
+ *    are all of scalar types.  Each field is translated to a primitive array
+ *    with one element per record, a record is denoted by its index.
+ *
+ * o  FLAT_BUFFER is used for arrays of AST_RECORD types that contain nested
+ *    records or arrays of fixed size, and for arrays of AST_VRNTREC types.
+ *    All records are stored in a single ByteBuffer, each field is accessed
+ *    at an offset computed at translation time from the record's index and
+ *    the field's position.  The variants of a variant record share offsets.
+ *
+ * o  OBJECTS is used for arrays of records with fields of pointer, procedure
+ *    or open array types, for arrays whose size is not known at translation
+ *    time and for arrays whose elements escape as whole records, see below.
+ *    Each record is translated to one Java object.
+ *
+ * The representation is chosen per array type after analysing all uses of
+ * variables of that type within the compilation unit.  Under lowering, an
+ * element a[i] is an index into the primitive arrays or buffer, not a Java
+ * object, and neither is any field of a[i] of record or array type, such
+ * as a[i].name of type ARRAY [0..31] OF CHAR, which is a region of the
+ * buffer under FLAT_BUFFER, not a char array.  The array type is therefore
+ * only lowered if no element escapes.  An element escapes if
+ *
+ * o  the element, or any of its fields of record or array type at any
+ *    depth, is passed as an actual parameter, whether VAR or value, of any
+ *    formal type including open array types, or
+ * o  any such field is an operand of an operation translated to a call of
+ *    a runtime class, such as string assignment, concatenation or
+ *    comparison by class RuntimeStrings, or
+ * o  a variable of the type is passed to an open array parameter, or
+ * o  the type or any variable of the type is exported.
+ *
+ * Otherwise OBJECTS is used.  Thus, a lowered element and any of its fields
+ * of record or array type is only ever used by selecting one of its
+ * components or as a whole in an assignment.
+ *
+ * The remaining uses of whole elements are translated as follows:
+ *
+ *   r := a[i]        =>  each field of the record object r is assigned
+ *                        from the field's array or buffer offset at i
+ *   a[i] := r        =>  each field at i is assigned from the field of r
+ *   a[i] := a[j]     =>  each field at i is assigned from the field at j,
+ *                        as one buffer region copy under FLAT_BUFFER
+ *   WITH a[i] DO     =>  i is evaluated once into a local index variable
+ *                        and each field designator within the WITH body
+ *                        is translated to an access at that index
+ *   x := a[i].f      =>  for a field f of record or array type, each
+ *                        component of x is assigned from the buffer region
+ *                        of f at i, and vice versa for a[i].f := x
+ *
+ * Assignment of a whole array in PARALLEL_ARRAYS or FLAT_BUFFER
+ * representation is translated to bulk copies of the underlying primitive
+ * arrays or buffer.  None of these translations allocate any objects.
+ * ------------------------------------------------------------------------ */
+
+public AggregateLowering aggregateLoweringFor (ProtoAstNode arrayType);
+
+
+/* ---------------------------------------------------------------------------
+ * method varParamPassingFor(proc, paramIndex)
+ * ---------------------------------------------------------------------------
+ * Returns the Java translation used for the AST_VARP formal parameter at
+ * the given index of the given procedure declaration.  Returns null if
+ * proc is not an AST_PROC node or if the parameter at paramIndex is not a
+ * VAR parameter.  The translation is chosen by analysing all call sites of
+ * the procedure within the compilation unit and the cheapest applicable
+ * translation is used, in the order listed below.
+ *
+ * An argument is said to be unreachable from the callee if it is a local
+ * variable of the calling procedure which is not accessed by any procedure
+ * nested within the calling procedure, and which is not passed to another
+ * VAR parameter in the same call.  Copying such an argument in before and
+ * out after the call is equivalent to passing it by reference, since the
+ * callee cannot access it other than through the parameter.  Copying any
+ * other argument, such as a global variable, is not, since the callee might
+ * read or write it directly or through other procedures while the copy is
+ * in use.
+ *
+ * o  REFERENCE, if the formal type is a record, array or open array type.
+ *    The argument is passed as is, no holder is needed.  This requires the
+ *    argument to be a Java reference.  Elements of arrays lowered to
+ *    PARALLEL_ARRAYS or FLAT_BUFFER and their fields of record or array
+ *    type are not Java references, but they never occur as arguments of
+ *    any parameter, see aggregateLoweringFor().
+ *
+ * o  ARRAY_AND_INDEX, if every call site passes an element of an array.
+ *    The array and the index are passed as two parameters and the procedure
+ *    reads and writes the element in place.
+ *
+ * o  RETURN_VALUE, if the parameter is the only VAR parameter of scalar
+ *    type, the procedure is not a function procedure and the argument is
+ *    unreachable from the callee at every call site.  The procedure returns
+ *    the final value of the parameter and each call site assigns it to the
+ *    argument.
+ *
+ * o  REUSED_HOLDER, if the argument is unreachable from the callee at every
+ *    call site and the procedure cannot be reentered, that is, it is not
+ *    called recursively, directly or indirectly, it does not call any
+ *    imported procedure nor any procedure variable, and it is not assigned
+ *    to a procedure variable.  A holder for each VAR parameter is allocated
+ *    once per thread and reused by every call, the argument is copied into
+ *    the holder before and out of it after the call.
+ *
+ * o  NEW_HOLDER, otherwise.  Any variable that is passed to the parameter
+ *    while reachable from the callee is itself stored in a holder, which is
+ *    allocated once when the variable comes into existence, and that holder
+ *    is passed as is.  Unreachable arguments are copied into a holder which
+ *    is allocated for each call and copied out of it after the call.
+ *
+ * The procedure is translated with the same parameter passing at every call
+ * site.  Procedures which are exported or assigned to procedure variables
+ * are analysed as if called from unknown call sites, ARRAY_AND_INDEX then
+ * does not apply.
+ * ------------------------------------------------------------------------ */
+
+public VarParamPassing varParamPassingFor (ProtoAstNode proc, int paramIndex);
+
+
+/* ---------------------------------------------------------------------------
+ * Loop translation
+ * ---------------------------------------------------------------------------
+ * Loops are translated to Java loops of the shapes the JIT compiler can
+ * recognise as counted loops for range check elimination, unrolling and
+ * vectorisation.
+ *
+ *   WHILE c DO s END     =>  while (c) { s }
+ *   REPEAT s UNTIL c     =>  do { s } while (!(c));
+ *   LOOP s END           =>  for (;;) { s }
+ *   EXIT                 =>  break;
+ *
+ * EXIT is translated to a labelled break only where the innermost enclosing
+ * LOOP statement is not the innermost enclosing Java loop or switch, that
+ * is, where EXIT occurs within a FOR, WHILE, REPEAT or CASE statement that
+ * is itself nested within the LOOP statement.
+ *
+ * A FOR statement that is a counted loop, see isCountedLoop(), is translated
+ * to a Java for loop over a primitive int or long index with the bounds
+ * evaluated once into local variables before the loop.  Loop control
+ * variables are never boxed.  Other FOR statements are translated to while
+ * loops with an explicit termination test, which is made after the body
+ * and before stepping, so that the control variable is never stepped past
+ * the last value and cannot overflow.
+ * ------------------------------------------------------------------------ */
+
+/* ---------------------------------------------------------------------------
+ * method isCountedLoop(forStmt)
+ * ---------------------------------------------------------------------------
+ * Returns true if the given AST_FORTO node can be translated to a counted
+ * Java for loop, otherwise false.  This is the case if
+ *
+ * o  the control variable is a local variable of the enclosing procedure,
+ * o  the control variable is not read or written by any procedure nested
+ *    within the enclosing procedure, since a nested procedure called from
+ *    the loop body would see or modify the variable instead of the index,
+ * o  the control variable is not assigned to within the loop body, not
+ *    passed as a VAR parameter and not an operand of INC or DEC, and
+ * o  the step value is a constant, or absent.
+ *
+ * The loop is translated to for (i = first; i <= last; i += step), or with
+ * >= for a negative step.  Such a loop only terminates if i + step cannot
+ * overflow when i is the last value that passes the test, otherwise the
+ * index would wrap around and the test would never fail, as it would for
+ * FOR i := 0 TO MAX(INTEGER) with an index of type int.  The index is of
+ * type int if last + step, or last - |step| for a negative step, lies
+ * within the range of int, otherwise it is of type long.  After folding,
+ * this is decided from constant bounds, or else from the range of the type
+ * of the control variable in place of last.  If even long cannot hold the
+ * stepped value, which is only possible with bounds of 64-bit types, the
+ * loop is not a counted loop, see "Loop translation" above.
+ * ------------------------------------------------------------------------ */
+
+public boolean isCountedLoop (ProtoAstNode forStmt);
+
+
+/* ---------------------------------------------------------------------------
+ * method isRedundantCheck(expr)
+ * ---------------------------------------------------------------------------
+ * Returns true if the range check for the given expression node can be
+ * omitted, otherwise false.  The node must either be an AST_INDEX node, in
+ * which case the index check against the array's index type is meant, or
+ * the right hand side of an assignment to a variable of a subrange type,
+ * in which case the subrange check is meant.
+ *
+ * A check is redundant if the value is provably within the required range,
+ * in particular if it is the control variable of an enclosing counted loop
+ * whose bounds lie within the required range, or if it is a constant that
+ * lies within the required range.  Java's own array bounds checks are not
+ * affected.
+ * ------------------------------------------------------------------------ */
+
+public boolean isRedundantCheck (ProtoAstNode expr);
+
+
+/* ---------------------------------------------------------------------------
+ * method caseTranslationFor(caseStmt)
+ * ---------------------------------------------------------------------------
+ * Returns the Java translation used for the given AST_SWITCH node, or null
+ * if caseStmt is not an AST_SWITCH node.  Case labels must have been folded
+ * to constants by ProtoConstFolder.  The choice depends on the number of
+ * values covered by all labels and ranges of the statement, n, and on the
+ * number of values from the smallest to the largest of these values, both
+ * inclusive, m.  Thus m is the span between them plus one.
+ *
+ * o  SWITCH, if the selector type is not a 64-bit type and n does not
+ *    exceed CASE_MAX_ENUMERATED_LABELS.  A Java switch statement is emitted
+ *    with one case label per value, ranges being enumerated.  The host Java
+ *    compiler chooses between a tableswitch and a lookupswitch instruction
+ *    depending on the density of the labels, no choice is made here.
+ *
+ * o  BRANCH_TABLE, if the selector type is not a 64-bit type, n exceeds
+ *    CASE_MAX_ENUMERATED_LABELS, m does not exceed CASE_MAX_BRANCH_TABLE_SIZE
+ *    and n is at least CASE_MIN_DENSITY percent of m.  A table of m entries
+ *    of type char is emitted as a static field of the module class, which
+ *    maps each value, less the smallest value, to the number of its branch.
+ *    A Java switch statement is emitted on the branch number with one case
+ *    label per branch.  Selector values outside the table take the default
+ *    case.  Dispatch takes constant time.
+ *
+ *    The table is not emitted as an array initializer since the code to
+ *    store each element would exceed the 64KB limit of a class initializer.
+ *    Instead, its entries are emitted in string literals of at most
+ *    CASE_BRANCH_TABLE_CHUNK_SIZE chars each, one char per entry, which are
+ *    copied into the table by String.getChars() in the class initializer.
+ *    Entries below 256 are written as octal escapes, all others as unicode
+ *    escapes.  Each literal then takes at most three bytes per entry in the
+ *    constant pool, well within the 65535 byte limit of a string constant,
+ *    and the class initializer takes a few instructions per literal, so
+ *    that any number of tables fits into one module class.
+ *
+ * o  BINARY_SEARCH, otherwise.  This is always the case if the selector type
+ *    is a 64-bit type since a Java switch statement cannot switch on a value
+ *    of type long.  The labels and ranges are sorted by their lower bounds
+ *    and nested if statements are emitted which compare the selector against
+ *    the bounds, so dispatch takes time logarithmic in the number of labels
+ *    and ranges.
+ *
+ * In all three translations, the selector expression is evaluated once and
+ * the ELSE branch, if any, is emitted as the default case.  Without an ELSE
+ * branch, the default case raises a case selector error.
+ * ------------------------------------------------------------------------ */
+
+public CaseTranslation caseTranslationFor (ProtoAstNode caseStmt);
+
+
+} /* ProtoCodeGenerator */
+
+/* END OF FILE */
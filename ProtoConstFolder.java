@@ -0,0 +1,111 @@
+/* M2J -- Modula-2 to Java Translator & Compiler
+ *
+ * Copyright (c) 2016 The Modula-2 Software Foundation
+ *
+ * Author & Maintainer: Benjamin Kowarsch <trijezdci@org.m2sf>
+ *
+ * @synopsis
+ *
+ * M2J is a multi-dialect Modula-2 to Java translator and via-Java compiler.
+ * It supports the dialects described in the 3rd and 4th editions of Niklaus
+ * Wirth's book "Programming in Modula-2" (PIM) published by Springer Verlag,
+ * and an extended mode with select features from the revised language by
+ * B.Kowarsch and R.Sutcliffe "Modula-2 Revision 2010" (M2R10).
+ *
+ * In translator mode, M2J translates Modula-2 source to Java source files.
+ * In compiler mode, M2J compiles Modula-2 source via Java source files
+ * to Java .class files using the host system's resident Java compiler.
+ *
+ * @repository
+ *
+ * https://github.com/m2sf/m2j
+ *
+ * @file
+ *
+ * ProtoConstFolder.java
+ *
+ * Public interface for constant expression folding.
+ *
+ * @license
+ *
+ * M2J is free software: you can redistribute and/or modify it under the
+ * terms of the GNU Lesser General Public License (LGPL) either version 2.1
+ * or at your choice version 3 as published by the Free Software Foundation.
+ * However, you may not alter the copyright, author and license information.
+ *
+ * M2J is distributed in the hope that it will be useful,  but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  Read the license for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with m2j.  If not, see <https://www.gnu.org/copyleft/lesser.html>.
+ *
+ * NB: Components in the domain part of email addresses are in reverse order.
+ */
+
+package org.m2sf.m2j;
+
+interface ProtoConstFolder {
+
+/* ---------------------------------------------------------------------------
+ * Constant folder status codes
+ * ------------------------------------------------------------------------ */
+
+public enum Status {
+  SUCCESS,
+  INVALID_AST,
+  CONST_EXPR_ERRORS_FOUND
+} /* Status */
+
+
+/* ---------------------------------------------------------------------------
+ * method foldConstants(ast, resolver)
+ * ---------------------------------------------------------------------------
+ * Evaluates the constant sub-expressions of the given AST, replaces each
+ * folded sub-expression by a single value node and returns a paired result
+ * with the number of sub-expressions replaced and a status code.  Resolver
+ * must be the resolver that has resolved ast.
+ *
+ * While traversing the AST, the folder keeps track of the innermost scope
+ * enclosing the current node, obtained by ProtoResolver.scopeForNode() for
+ * each node that owns a scope.  An identifier is looked up by calling
+ * ProtoScope.lookup() on that innermost scope, so that a constant declared
+ * within a procedure or local module shadows a constant of the same name
+ * declared in an enclosing scope.
+ *
+ * The AST is traversed bottom-up, once.  A sub-expression is constant if
+ * all of its operands are literal values, identifiers denoting constants
+ * or constant sub-expressions.  The following are folded:
+ *
+ * o  AST_NEG, AST_PLUS, AST_MINUS, AST_ASTERISK, AST_DIV and AST_MOD with
+ *    whole number operands, replaced by an AST_INTVAL node
+ * o  AST_NEG, AST_PLUS, AST_MINUS, AST_ASTERISK and AST_SOLIDUS with real
+ *    number operands, replaced by an AST_REALVAL node
+ * o  AST_PLUS, AST_MINUS, AST_ASTERISK and AST_SOLIDUS with set value
+ *    operands, replaced by an AST_SETVAL node with the resulting elements
+ * o  AST_SETVAL with constant elements and ranges, replaced by an AST_SETVAL
+ *    node that lists each element once, in ascending order
+ *
+ * Folding is carried out within constant definitions (AST_CONSTDEF),
+ * subrange types (AST_SUBR), array index types, ranges (AST_RANGE) and
+ * case labels (AST_CLABELS) as well as within statements.  Folded nodes are
+ * replaced in place using ProtoAstNode.replaceSubnode().
+ *
+ * error-conditions:
+ * o  if ast is not a valid AST,
+ *    nothing is folded, status is INVALID_AST
+ * o  if a constant division or modulus has a zero divisor, error
+ *    ERROR_CONST_DIVISION_BY_ZERO is reported, the sub-expression is not
+ *    folded, status is CONST_EXPR_ERRORS_FOUND
+ * o  if the result of a constant whole number operation is out of range,
+ *    error ERROR_CONST_OVERFLOW is reported, the sub-expression is not
+ *    folded, status is CONST_EXPR_ERRORS_FOUND
+ * ------------------------------------------------------------------------ */
+
+public Result<Number /* subtrees replaced */, Status>
+  foldConstants (ProtoAstNode ast, ProtoResolver resolver);
+
+
+} /* ProtoConstFolder */
+
+/* END OF FILE */
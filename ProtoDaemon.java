@@ -0,0 +1,172 @@
+/* M2J -- Modula-2 to Java Translator & Compiler
+ *
+ * Copyright (c) 2016 The Modula-2 Software Foundation
+ *
+ * Author & Maintainer: Benjamin Kowarsch <trijezdci@org.m2sf>
+ *
+ * @synopsis
+ *
+ * M2J is a multi-dialect Modula-2 to Java translator and via-Java compiler.
+ * It supports the dialects described in the 3rd and 4th editions of Niklaus
+ * Wirth's book "Programming in Modula-2" (PIM) published by Springer Verlag,
+ * and an extended mode with select features from the revised language by
+ * B.Kowarsch and R.Sutcliffe "Modula-2 Revision 2010" (M2R10).
+ *
+ * In translator mode, M2J translates Modula-2 source to Java source files.
+ * In compiler mode, M2J compiles Modula-2 source via Java source files
+ * to Java .class files using the host system's resident Java compiler.
+ *
+ * @repository
+ *
+ * https://github.com/m2sf/m2j
+ *
+ * @file
+ *
+ * ProtoDaemon.java
+ *
+ * Public interface for the resident compiler daemon.
+ *
+ * @license
+ *
+ * M2J is free software: you can redistribute and/or modify it under the
+ * terms of the GNU Lesser General Public License (LGPL) either version 2.1
+ * or at your choice version 3 as published by the Free Software Foundation.
+ * However, you may not alter the copyright, author and license information.
+ *
+ * M2J is distributed in the hope that it will be useful,  but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  Read the license for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with m2j.  If not, see <https://www.gnu.org/copyleft/lesser.html>.
+ *
+ * NB: Components in the domain part of email addresses are in reverse order.
+ */
+
+package org.m2sf.m2j;
+
+interface ProtoDaemon {
+
+/* ---------------------------------------------------------------------------
+ * Daemon status codes
+ * ------------------------------------------------------------------------ */
+
+public enum Status {
+  SUCCESS,
+  INVALID_SOCKET_PATH,
+  SOCKET_IN_USE,
+  SOCKET_ACCESS_DENIED,
+  DAEMON_NOT_RUNNING,
+  CONNECTION_LOST,
+  IO_SUBSYSTEM_ERROR
+} /* Status */
+
+
+/* ---------------------------------------------------------------------------
+ * constructor newDaemon(socketPath, cacheSize)
+ * ---------------------------------------------------------------------------
+ * Creates a new daemon instance, binds it to a Unix domain socket at the
+ * given path and returns a Result pair with the daemon reference and a
+ * status value.  The daemon caches parsed definition modules across requests
+ * in a ProtoDefCache instance, created by newDefCache() with cacheSize as
+ * maxEntries and DEFCACHE_DEFAULT_MAX_MEMORY as maxMemory.  When the cache
+ * is full, the least recently used entry is evicted.  Unless a cache size
+ * is given on the command line, DEFCACHE_DEFAULT_MAX_ENTRIES is passed.
+ *
+ * The daemon reads and writes files with the rights of its owner, thus only
+ * its owner may connect.  The directory containing the socket must be owned
+ * by the daemon's owner and must not be writable by group or others, the
+ * socket is created with permissions granting read and write access to its
+ * owner only.  In addition, serve() checks the credentials of each peer and
+ * closes any connection from a user other than the owner without reading
+ * from it.
+ *
+ * pre-conditions:
+ * o  socketPath must be a valid pathname for a Unix domain socket
+ * o  cacheSize must be greater than zero
+ *
+ * post-conditions:
+ * o  daemon is created and bound to socketPath
+ * o  status is set to SUCCESS
+ *
+ * error-conditions:
+ * o  if socketPath is not a valid pathname,
+ *    daemon is set to null, status is set to INVALID_SOCKET_PATH
+ * o  if another process is listening on socketPath,
+ *    daemon is set to null, status is set to SOCKET_IN_USE
+ * o  if socketPath cannot be created, or if its directory is not owned by
+ *    the calling user or is writable by group or others,
+ *    daemon is set to null, status is set to SOCKET_ACCESS_DENIED
+ * ------------------------------------------------------------------------ */
+
+public Result<ProtoDaemon, Status>
+  newDaemon (String socketPath, int cacheSize);
+
+
+/* ---------------------------------------------------------------------------
+ * method serve()
+ * ---------------------------------------------------------------------------
+ * Accepts compile requests on the daemon's socket until shutdown() is called
+ * and returns a status code.  Each request carries the client's working
+ * directory and a command line.  The command line is processed as if passed
+ * to ProtoArgumentParser.parseOptions() by a newly started compiler whose
+ * working directory is the client's, that is, relative source and output
+ * paths are resolved against the client's working directory, never against
+ * that of the daemon.  Diagnostics and the resulting argument status are
+ * sent back to the requesting client.  Compiler options are not retained
+ * across requests, only cached definition modules are.
+ *
+ * Since compiler options are held in static state of ProtoArgumentParser,
+ * requests are processed one at a time in the order they are accepted.
+ * Further clients wait until the request in progress has been completed.
+ * ------------------------------------------------------------------------ */
+
+public Status serve ();
+
+
+/* ---------------------------------------------------------------------------
+ * method forward(socketPath, args)
+ * ---------------------------------------------------------------------------
+ * Forwards the given command line together with the absolute path of the
+ * calling process's working directory to the daemon listening at
+ * socketPath, copies the diagnostics sent back by the daemon to the console
+ * and returns a Result pair with the daemon's argument status and a status
+ * value.  This is a static method, it is used by the thin client and does
+ * not require a daemon instance.
+ *
+ * error-conditions:
+ * o  if no daemon is listening at socketPath,
+ *    argument status is set to null, status is set to DAEMON_NOT_RUNNING
+ * o  if the daemon at socketPath is owned by another user,
+ *    argument status is set to null, status is set to SOCKET_ACCESS_DENIED
+ * o  if the connection is closed before the request has been completed,
+ *    argument status is set to null, status is set to CONNECTION_LOST
+ * ------------------------------------------------------------------------ */
+
+// public static Result<ProtoArgumentParser.ArgumentStatus, Status>
+//   forward (String socketPath, String[] args);
+
+
+/* ---------------------------------------------------------------------------
+ * method cachedDefCount()
+ * ---------------------------------------------------------------------------
+ * Returns the number of definition modules currently held in the cache.
+ * ------------------------------------------------------------------------ */
+
+public int cachedDefCount ();
+
+
+/* ---------------------------------------------------------------------------
+ * method shutdown()
+ * ---------------------------------------------------------------------------
+ * Stops accepting requests, waits for the request in progress, if any, to
+ * complete, closes the connections of waiting clients, removes the daemon's
+ * socket, releases its cache and returns a status code.
+ * ------------------------------------------------------------------------ */
+
+public Status shutdown ();
+
+
+} /* ProtoDaemon */
+
+/* END OF FILE */
@@ -0,0 +1,161 @@
+/* M2J -- Modula-2 to Java Translator & Compiler
+ *
+ * Copyright (c) 2016 The Modula-2 Software Foundation
+ *
+ * Author & Maintainer: Benjamin Kowarsch <trijezdci@org.m2sf>
+ *
+ * @synopsis
+ *
+ * M2J is a multi-dialect Modula-2 to Java translator and via-Java compiler.
+ * It supports the dialects described in the 3rd and 4th editions of Niklaus
+ * Wirth's book "Programming in Modula-2" (PIM) published by Springer Verlag,
+ * and an extended mode with select features from the revised language by
+ * B.Kowarsch and R.Sutcliffe "Modula-2 Revision 2010" (M2R10).
+ *
+ * In translator mode, M2J translates Modula-2 source to Java source files.
+ * In compiler mode, M2J compiles Modula-2 source via Java source files
+ * to Java .class files using the host system's resident Java compiler.
+ *
+ * @repository
+ *
+ * https://github.com/m2sf/m2j
+ *
+ * @file
+ *
+ * ProtoDefCache.java
+ *
+ * Public interface for the shared cache of parsed definition modules.
+ *
+ * @license
+ *
+ * M2J is free software: you can redistribute and/or modify it under the
+ * terms of the GNU Lesser General Public License (LGPL) either version 2.1
+ * or at your choice version 3 as published by the Free Software Foundation.
+ * However, you may not alter the copyright, author and license information.
+ *
+ * M2J is distributed in the hope that it will be useful,  but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  Read the license for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with m2j.  If not, see <https://www.gnu.org/copyleft/lesser.html>.
+ *
+ * NB: Components in the domain part of email addresses are in reverse order.
+ */
+
+package org.m2sf.m2j;
+
+interface ProtoDefCache {
+
+/* ---------------------------------------------------------------------------
+ * Cache limits
+ * ------------------------------------------------------------------------ */
+
+public static int DEFCACHE_DEFAULT_MAX_ENTRIES = 256; /* definition modules */
+
+public static int DEFCACHE_DEFAULT_MAX_MEMORY = 64; /* megabytes */
+
+
+/* ---------------------------------------------------------------------------
+ * Cache status codes
+ * ------------------------------------------------------------------------ */
+
+public enum Status {
+  SUCCESS,
+  FILE_NOT_FOUND,
+  FILE_ACCESS_DENIED,
+  SYNTAX_ERRORS_FOUND,
+  SEMANTIC_ERRORS_FOUND,
+  IMPORT_CYCLE
+} /* Status */
+
+
+/* ---------------------------------------------------------------------------
+ * constructor newDefCache(maxEntries, maxMemory)
+ * ---------------------------------------------------------------------------
+ * Creates a new empty definition module cache that holds at most maxEntries
+ * definition modules using at most an estimated maxMemory megabytes and
+ * returns it.  One cache is shared by all compilations within a process.
+ * When either limit would be exceeded, the least recently used entries
+ * are evicted.
+ * ------------------------------------------------------------------------ */
+
+public ProtoDefCache newDefCache (int maxEntries, int maxMemory);
+
+
+/* ---------------------------------------------------------------------------
+ * method scopeForDef(path, dialectKey)
+ * ---------------------------------------------------------------------------
+ * Returns a paired result with the sealed scope of the definition module at
+ * path, parsed and resolved in the configuration identified by dialectKey,
+ * and a status code.  The key is that returned by
+ * ProtoArgumentParser.dialectKey() for the compilation on whose behalf the
+ * module is requested.  The AST of the definition module is the owner of
+ * the scope, see ProtoScope.owner().  Neither the scope nor the AST may be
+ * modified by the caller.
+ *
+ * Entries are keyed by canonical path and dialect key.  The dialect mode
+ * and capabilities change lexing, parsing and the pervasive identifiers, so
+ * a definition module loaded in one configuration is never returned for
+ * another.  A module used in several configurations has one entry for each
+ * and each entry counts against the cache limits.  If the file's
+ * modification time has changed since an entry was loaded, the file's
+ * content hash is compared with the hash recorded in the entry and the
+ * entry is reloaded if they differ.  If no entry exists, the file is parsed
+ * and resolved, the resulting scope is sealed and stored in the cache.
+ *
+ * The cache is safe for concurrent use.  Lookups of present entries do not
+ * acquire any lock.  If several threads request the same definition module
+ * while it is not present, only one of them parses it and the others wait
+ * for and share its result.  Loading one module does not block lookups or
+ * loads of other modules.
+ *
+ * Loading a definition module loads the definition modules it imports by
+ * calls to scopeForDef() on the same thread with the same dialect key.  Each
+ * load in progress records the thread that carries it out and the entry whose
+ * load it is waiting for, if any.  Before a thread waits for a load in
+ * progress, it follows these records from that load onwards.  If it arrives
+ * at a load carried out by the thread itself, the imports are cyclic and
+ * waiting would never end.  The thread then does not wait and IMPORT_CYCLE is
+ * returned.  This also covers a module that imports itself, directly or
+ * indirectly.
+ *
+ * error-conditions:
+ * o  if the file at path cannot be found,
+ *    scope is null, status is FILE_NOT_FOUND
+ * o  if the file at path cannot be accessed,
+ *    scope is null, status is FILE_ACCESS_DENIED
+ * o  if the file contains syntax or semantic errors,
+ *    scope is null, status is SYNTAX_ERRORS_FOUND or SEMANTIC_ERRORS_FOUND,
+ *    the failure is not cached
+ * o  if loading the module would complete a cycle of imports,
+ *    scope is null, status is IMPORT_CYCLE, the failure is not cached
+ * ------------------------------------------------------------------------ */
+
+public Result<ProtoScope, Status>
+  scopeForDef (String path, String dialectKey);
+
+
+/* ---------------------------------------------------------------------------
+ * method invalidate(path)
+ * ---------------------------------------------------------------------------
+ * Removes the entries for the definition module at path from the cache for
+ * all dialect keys, if present.  Threads holding the scope of a removed entry
+ * may continue to use it.
+ * ------------------------------------------------------------------------ */
+
+public void invalidate (String path);
+
+
+/* ---------------------------------------------------------------------------
+ * method count()
+ * ---------------------------------------------------------------------------
+ * Returns the number of definition modules currently held in the cache.
+ * ------------------------------------------------------------------------ */
+
+public int count ();
+
+
+} /* ProtoDefCache */
+
+/* END OF FILE */
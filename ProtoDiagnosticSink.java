@@ -0,0 +1,209 @@
+/* M2J -- Modula-2 to Java Translator & Compiler
+ *
+ * Copyright (c) 2016 The Modula-2 Software Foundation
+ *
+ * Author & Maintainer: Benjamin Kowarsch <trijezdci@org.m2sf>
+ *
+ * @synopsis
+ *
+ * M2J is a multi-dialect Modula-2 to Java translator and via-Java compiler.
+ * It supports the dialects described in the 3rd and 4th editions of Niklaus
+ * Wirth's book "Programming in Modula-2" (PIM) published by Springer Verlag,
+ * and an extended mode with select features from the revised language by
+ * B.Kowarsch and R.Sutcliffe "Modula-2 Revision 2010" (M2R10).
+ *
+ * In translator mode, M2J translates Modula-2 source to Java source files.
+ * In compiler mode, M2J compiles Modula-2 source via Java source files
+ * to Java .class files using the host system's resident Java compiler.
+ *
+ * @repository
+ *
+ * https://github.com/m2sf/m2j
+ *
+ * @file
+ *
+ * ProtoDiagnosticSink.java
+ *
+ * Public interface for collecting and writing diagnostic records.
+ *
+ * @license
+ *
+ * M2J is free software: you can redistribute and/or modify it under the
+ * terms of the GNU Lesser General Public License (LGPL) either version 2.1
+ * or at your choice version 3 as published by the Free Software Foundation.
+ * However, you may not alter the copyright, author and license information.
+ *
+ * M2J is distributed in the hope that it will be useful,  but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  Read the license for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with m2j.  If not, see <https://www.gnu.org/copyleft/lesser.html>.
+ *
+ * NB: Components in the domain part of email addresses are in reverse order.
+ */
+
+package org.m2sf.m2j;
+
+interface ProtoDiagnosticSink {
+
+/* ---------------------------------------------------------------------------
+ * type Format
+ * ---------------------------------------------------------------------------
+ * Enumerated output formats for diagnostic records.
+ * ------------------------------------------------------------------------ */
+
+public enum Format {
+  TEXT,   /* human readable messages as printed to the console */
+  JSON,   /* one JSON object per record within a JSON array */
+  SARIF   /* Static Analysis Results Interchange Format 2.1.0 */
+} /* Format */
+
+
+/* ---------------------------------------------------------------------------
+ * Diagnostic sink status codes
+ * ------------------------------------------------------------------------ */
+
+public enum Status {
+  SUCCESS,
+  NO_RECORD_TO_ATTACH_TO,
+  OUTPUT_FAILED
+} /* Status */
+
+
+/* ---------------------------------------------------------------------------
+ * constructor newSink()
+ * ---------------------------------------------------------------------------
+ * Creates a new empty diagnostic sink and returns it.
+ *
+ * A sink is not synchronised.  When compiling in parallel, each thread uses
+ * its own sink, see ProtoDiagnostics.setSink(), and the per-thread sinks
+ * are merged using drainTo() once the threads have finished.
+ * ------------------------------------------------------------------------ */
+
+public ProtoDiagnosticSink newSink ();
+
+
+/* ---------------------------------------------------------------------------
+ * method setFilename(filename)
+ * ---------------------------------------------------------------------------
+ * Sets the filename of the source file being processed.  The filename is
+ * recorded with all diagnostics subsequently emitted through the methods
+ * of ProtoDiagnostics while the sink is the current sink.
+ * ------------------------------------------------------------------------ */
+
+public void setFilename (String filename);
+
+
+/* ---------------------------------------------------------------------------
+ * method filename()
+ * ---------------------------------------------------------------------------
+ * Returns the filename set by the last call to setFilename(), or null if
+ * no filename has been set.
+ * ------------------------------------------------------------------------ */
+
+public String filename ();
+
+
+/* ---------------------------------------------------------------------------
+ * method add(code, file, line, col, unexpToken, offLex, expLow, expHigh)
+ * ---------------------------------------------------------------------------
+ * Adds a diagnostic record with the given values to the sink.  Nothing is
+ * formatted or written.  Parameters which do not apply to the diagnostic
+ * are passed as null for filename, unexpectedToken and offendingLexeme, and
+ * as zero for line, column, expectedLow and expectedHigh.
+ *
+ * The set of expected tokens is passed as a bitmask in expectedLow and
+ * expectedHigh, see ProtoTerminals.lowBitsForTokenSet() and
+ * highBitsForTokenSet().  Message texts are obtained from
+ * ProtoDiagnostics.diagMsgText() and token names from
+ * ProtoTerminals.nameForToken() only when records are formatted by flush().
+ *
+ * The record is added unconditionally.  Duplicates and limits are handled
+ * by ProtoDiagnostics before this method is called, see "Duplicates and
+ * limits" in ProtoDiagnostics.
+ * ------------------------------------------------------------------------ */
+
+public void add
+  (ProtoDiagnostics.Code code, String filename, int line, int column,
+   ProtoTerminals.Token unexpectedToken, String offendingLexeme,
+   long expectedLow, long expectedHigh);
+
+
+/* ---------------------------------------------------------------------------
+ * method countSuppressed(code)
+ * ---------------------------------------------------------------------------
+ * Increments the number of records with the given code that have been
+ * suppressed.  Called by ProtoDiagnostics for each diagnostic it suppresses
+ * while the sink is the current sink.
+ * ------------------------------------------------------------------------ */
+
+public void countSuppressed (ProtoDiagnostics.Code code);
+
+
+/* ---------------------------------------------------------------------------
+ * method suppressedCount(code)
+ * ---------------------------------------------------------------------------
+ * Returns the number of records with the given code that have been counted
+ * as suppressed since the sink was last flushed.
+ * ------------------------------------------------------------------------ */
+
+public int suppressedCount (ProtoDiagnostics.Code code);
+
+
+/* ---------------------------------------------------------------------------
+ * method attachSourceLine(source)
+ * ---------------------------------------------------------------------------
+ * Attaches the given source line to the most recently added record and
+ * returns a status code.  In TEXT format, the source line is written below
+ * the message and the record's column is marked with a caret '^'.  Returns
+ * NO_RECORD_TO_ATTACH_TO if the sink is empty.
+ * ------------------------------------------------------------------------ */
+
+public Status attachSourceLine (String source);
+
+
+/* ---------------------------------------------------------------------------
+ * method count()
+ * ---------------------------------------------------------------------------
+ * Returns the number of records held by the sink.
+ * ------------------------------------------------------------------------ */
+
+public int count ();
+
+
+/* ---------------------------------------------------------------------------
+ * method drainTo(target)
+ * ---------------------------------------------------------------------------
+ * Moves all records held by the sink to the target sink and adds the
+ * sink's suppressed counts to those of the target sink, so that the
+ * summary written by flush() covers all merged sinks.  The sink is empty
+ * and its suppressed counts are zero afterwards.
+ * ------------------------------------------------------------------------ */
+
+public void drainTo (ProtoDiagnosticSink target);
+
+
+/* ---------------------------------------------------------------------------
+ * method flush(format, out)
+ * ---------------------------------------------------------------------------
+ * Formats all records held by the sink in the given format, writes them to
+ * out in a single batch and returns a paired result with the number of
+ * records written and a status code.  Records are written in a stable
+ * order, sorted by filename, line and column, records at the same position
+ * are written in the order they were added.  The records are followed by a
+ * summary with the number of suppressed records per code, if any.  The
+ * sink and its suppressed counts are empty afterwards.
+ *
+ * error-conditions:
+ * o  if writing to out fails, status is set to OUTPUT_FAILED
+ *    and the records which have not been written remain in the sink
+ * ------------------------------------------------------------------------ */
+
+public Result<Number /* records written */, Status>
+  flush (Format format, Appendable out);
+
+
+} /* ProtoDiagnosticSink */
+
+/* END OF FILE */
@@ -49,6 +49,15 @@ import java.util.EnumSet;
 
 interface ProtoDiagnostics {
 
+/* ---------------------------------------------------------------------------
+ * Default diagnostic limits
+ * ------------------------------------------------------------------------ */
+
+public static int DEFAULT_WARNING_LIMIT_PER_CODE = 100; /* diagnostics */
+
+public static int DEFAULT_ERROR_LIMIT = 0; /* errors, zero for no limit */
+
+
 /* ---------------------------------------------------------------------------
  * type Code
  * ---------------------------------------------------------------------------
@@ -71,6 +80,7 @@ public enum Code {
   /* Lexical Warnings and Errors */
   
   WARN_DISABLED_CODE_SECTION,
+  ERROR_EOF_IN_DISABLED_CODE_SECTION,
   ERROR_INVALID_INPUT_CHAR,
   ERROR_EOF_IN_BLOCK_COMMENT,
   ERROR_NEW_LINE_IN_STRING_LITERAL,
@@ -93,6 +103,12 @@ public enum Code {
   
   /* Semantic Errors */
   
+  ERROR_UNDECLARED_IDENTIFIER,
+  ERROR_DUPLICATE_DECLARATION,
+  ERROR_IMPORTED_MODULE_NOT_FOUND,
+  ERROR_CYCLIC_IMPORT,
+  ERROR_CONST_DIVISION_BY_ZERO,
+  ERROR_CONST_OVERFLOW,
   ERROR_Z;              /* Z */
   
 } /* Code */
@@ -134,6 +150,15 @@ public boolean isSyntaxError (Code code);
 public boolean isSemanticError (Code code);
 
 
+/* ---------------------------------------------------------------------------
+ * method isWarning(code)
+ * ---------------------------------------------------------------------------
+ * Returns true if code represents a warning code, otherwise false.
+ * ------------------------------------------------------------------------ */
+
+public boolean isWarning (Code code);
+
+
 /* ---------------------------------------------------------------------------
  * method diagMsgText(code)
  * ---------------------------------------------------------------------------
@@ -144,10 +169,132 @@ public boolean isSemanticError (Code code);
 public String diagMsgText (Code code);
 
 
+/* ---------------------------------------------------------------------------
+ * method setSink(sink)
+ * ---------------------------------------------------------------------------
+ * Sets the diagnostic sink for the calling thread.  Diagnostics emitted by
+ * the calling thread are then added to sink as records and they are only
+ * written when the sink is flushed.  If sink is null, diagnostics emitted
+ * by the calling thread are printed directly to the console.  Unless set,
+ * the current sink of a thread is null.
+ *
+ * While a sink is set, the emit methods do not build any message strings.
+ * An expected token or token set is converted to a bitmask and stored with
+ * the record, message text and token names are only looked up when the
+ * sink formats its records.
+ * ------------------------------------------------------------------------ */
+
+public void setSink (ProtoDiagnosticSink sink);
+
+
+/* ---------------------------------------------------------------------------
+ * method currentSink()
+ * ---------------------------------------------------------------------------
+ * Returns the diagnostic sink of the calling thread, or null if diagnostics
+ * are printed directly to the console.
+ * ------------------------------------------------------------------------ */
+
+public ProtoDiagnosticSink currentSink ();
+
+
+/* ---------------------------------------------------------------------------
+ * Duplicates and limits
+ * ---------------------------------------------------------------------------
+ * Before a diagnostic is added to the current sink or printed to the
+ * console, it is filtered by the emit methods below.  It is suppressed if
+ *
+ * o  a diagnostic with the same code, filename, line and column has already
+ *    been emitted by the calling thread, or
+ * o  the calling thread has already emitted as many diagnostics with the
+ *    same code as the limit for that code, see setLimitForCode(), or
+ * o  it is an error and the error limit has been reached, see
+ *    setErrorLimit().
+ *
+ * Filtering is the same whether a sink is set or not.  Emitted diagnostics
+ * and the state used for filtering are recorded per thread, they are reset
+ * by resetCounts().  A suppressed diagnostic is neither added nor printed,
+ * it is counted as suppressed for its code instead.  While a sink is set,
+ * the count is kept by the sink, see ProtoDiagnosticSink.countSuppressed(),
+ * so that it travels with the sink's records.  Otherwise the count is kept
+ * per thread and printed by emitSuppressionSummary().
+ * ------------------------------------------------------------------------ */
+
+/* ---------------------------------------------------------------------------
+ * method setLimitForCode(code, limit)
+ * ---------------------------------------------------------------------------
+ * Sets the maximum number of diagnostics with the given code the calling
+ * thread may emit.  Further diagnostics with that code are suppressed.  A
+ * limit of zero means no limit.  Unless set, the limit is
+ * DEFAULT_WARNING_LIMIT_PER_CODE for warning codes and zero for error codes,
+ * so that no error is ever suppressed by default.
+ * ------------------------------------------------------------------------ */
+
+public void setLimitForCode (Code code, int limit);
+
+
+/* ---------------------------------------------------------------------------
+ * method setErrorLimit(limit)
+ * ---------------------------------------------------------------------------
+ * Sets the maximum number of errors the calling thread may emit, regardless
+ * of their code.  A limit of zero means no limit.  Unless set, the limit is
+ * DEFAULT_ERROR_LIMIT.  Warnings are not counted and are not affected.
+ * ------------------------------------------------------------------------ */
+
+public void setErrorLimit (int limit);
+
+
+/* ---------------------------------------------------------------------------
+ * method resetCounts()
+ * ---------------------------------------------------------------------------
+ * Resets the error count, the per code counts, the record of emitted
+ * diagnostics used to suppress duplicates and the suppressed counts of the
+ * calling thread.  Limits are not changed.  Called before each compilation.
+ * ------------------------------------------------------------------------ */
+
+public void resetCounts ();
+
+
+/* ---------------------------------------------------------------------------
+ * method errorLimitReached()
+ * ---------------------------------------------------------------------------
+ * Returns true if the number of errors emitted by the calling thread since
+ * the last call to resetCounts() has reached the error limit, otherwise
+ * false.  The parser calls this method after each syntax error it has
+ * reported and stops parsing once it returns true.
+ * ------------------------------------------------------------------------ */
+
+public boolean errorLimitReached ();
+
+
+/* ---------------------------------------------------------------------------
+ * method suppressedCount(code)
+ * ---------------------------------------------------------------------------
+ * Returns the number of diagnostics with the given code the calling thread
+ * has suppressed while no sink was set, since the last call to
+ * resetCounts() or emitSuppressionSummary().
+ * ------------------------------------------------------------------------ */
+
+public int suppressedCount (Code code);
+
+
+/* ---------------------------------------------------------------------------
+ * method emitSuppressionSummary()
+ * ---------------------------------------------------------------------------
+ * Prints a summary with the number of suppressed diagnostics per code, if
+ * any, to the console and clears the suppressed counts of the calling
+ * thread.  The compiler calls this method after each compilation when no
+ * sink is set.  With a sink, the summary is written by
+ * ProtoDiagnosticSink.flush() instead.
+ * ------------------------------------------------------------------------ */
+
+public void emitSuppressionSummary ();
+
+
 /* ---------------------------------------------------------------------------
  * method emitError(code)
  * ---------------------------------------------------------------------------
- * Emits an error message for code to the console.
+ * Emits an error message for code to the current sink,
+ * or to the console if none is set.
  * ------------------------------------------------------------------------ */
 
 public void emitError (Code code);
@@ -156,7 +303,8 @@ public void emitError (Code code);
 /* ---------------------------------------------------------------------------
  * method emitErrorWithOffendingStr(code, offendingStr)
  * ---------------------------------------------------------------------------
- * Emits an error message for code and offendingStr to the console.
+ * Emits an error message for code and offendingStr to the current sink,
+ * or to the console if none is set.
  * ------------------------------------------------------------------------ */
 
 public void emitErrorWithOffendingStr (Code code, String offendingStr);
@@ -165,7 +313,8 @@ public void emitErrorWithOffendingStr (Code code, String offendingStr);
 /* ---------------------------------------------------------------------------
  * method emitErrorWithPos(code, line, column)
  * ---------------------------------------------------------------------------
- * Emits an error message for code, line and column to the console.
+ * Emits an error message for code, line and column to the current sink,
+ * or to the console if none is set.
  * ------------------------------------------------------------------------ */
 
 public void emitErrorWithPos (Code code, int line, int column);
@@ -175,7 +324,7 @@ public void emitErrorWithPos (Code code, int line, int column);
  * method emitErrorWithChr(error, line, column, offendingChr)
  * ---------------------------------------------------------------------------
  * Emits an error message for code, line, column and offendingChr to the
- * console.
+ * current sink, or to the console if none is set.
  * ------------------------------------------------------------------------ */
 
 public void emitErrorWithChr
@@ -186,7 +335,7 @@ public void emitErrorWithChr
  * method m2c_emit_error_w_lex(error, line, column, offendingLexeme)
  * ---------------------------------------------------------------------------
  * Emits an error message for code, line, column and offendingLexeme to the
- * console.
+ * current sink, or to the console if none is set.
  * ------------------------------------------------------------------------ */
 
 public void emitErrorWithLex
@@ -196,7 +345,8 @@ public void emitErrorWithLex
 /* ---------------------------------------------------------------------------
  * method emitSyntaxErrorWithToken(line, col, unexpToken, offLex, expToken)
  * ---------------------------------------------------------------------------
- * Emits a syntax error message of the following format to the console:
+ * Emits a syntax error message of the following format to the current sink,
+ * or to the console if none is set:
  * line: n, column: m, unexpected offending-symbol offending-lexeme found
  *   expected token
  * ------------------------------------------------------------------------ */
@@ -211,7 +361,8 @@ public void emitSyntaxErrorWithToken
 /* ---------------------------------------------------------------------------
  * method emitSyntaxErrorWithSet(line, col, unexpToken, offLex, expTokenSet)
  * ---------------------------------------------------------------------------
- * Emits a syntax error message of the following format to the console:
+ * Emits a syntax error message of the following format to the current sink,
+ * or to the console if none is set:
  * line: n, column: m, unexpected offending-symbol offending-lexeme found
  *   expected set-symbol-1, set-symbol-2, set-symbol-3, ... or set-symbol-N
  * ------------------------------------------------------------------------ */
@@ -226,7 +377,8 @@ public void emitSyntaxErrorWithSet
 /* ---------------------------------------------------------------------------
  * method emitWarningWithPos(code, line, column)
  * ---------------------------------------------------------------------------
- * Emits a warning message for code, line and column to the console.
+ * Emits a warning message for code, line and column to the current sink,
+ * or to the console if none is set.
  * ------------------------------------------------------------------------ */
 
 public void emitWarningWithPos (Code code, int line, int column);
@@ -235,7 +387,8 @@ public void emitWarningWithPos (Code code, int line, int column);
 /* ---------------------------------------------------------------------------
  * method emitWarningWithRange(error, firstLine, lastLine)
  * ---------------------------------------------------------------------------
- * Emits a warning message for range from firstLine to lastLine.
+ * Emits a warning message for range from firstLine to lastLine to the
+ * current sink, or to the console if none is set.
  * ------------------------------------------------------------------------ */
 
 public void emitWarningWithRange (Code code, int firstLine, int lastLine);
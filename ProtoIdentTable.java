@@ -0,0 +1,95 @@
+/* M2J -- Modula-2 to Java Translator & Compiler
+ *
+ * Copyright (c) 2016 The Modula-2 Software Foundation
+ *
+ * Author & Maintainer: Benjamin Kowarsch <trijezdci@org.m2sf>
+ *
+ * @synopsis
+ *
+ * M2J is a multi-dialect Modula-2 to Java translator and via-Java compiler.
+ * It supports the dialects described in the 3rd and 4th editions of Niklaus
+ * Wirth's book "Programming in Modula-2" (PIM) published by Springer Verlag,
+ * and an extended mode with select features from the revised language by
+ * B.Kowarsch and R.Sutcliffe "Modula-2 Revision 2010" (M2R10).
+ *
+ * In translator mode, M2J translates Modula-2 source to Java source files.
+ * In compiler mode, M2J compiles Modula-2 source via Java source files
+ * to Java .class files using the host system's resident Java compiler.
+ *
+ * @repository
+ *
+ * https://github.com/m2sf/m2j
+ *
+ * @file
+ *
+ * ProtoIdentTable.java
+ *
+ * Public interface for the identifier table.
+ *
+ * @license
+ *
+ * M2J is free software: you can redistribute and/or modify it under the
+ * terms of the GNU Lesser General Public License (LGPL) either version 2.1
+ * or at your choice version 3 as published by the Free Software Foundation.
+ * However, you may not alter the copyright, author and license information.
+ *
+ * M2J is distributed in the hope that it will be useful,  but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  Read the license for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with m2j.  If not, see <https://www.gnu.org/copyleft/lesser.html>.
+ *
+ * NB: Components in the domain part of email addresses are in reverse order.
+ */
+
+package org.m2sf.m2j;
+
+interface ProtoIdentTable {
+
+/* ---------------------------------------------------------------------------
+ * Identifier table limits
+ * ------------------------------------------------------------------------ */
+
+public static int INVALID_IDENT_ID = 0;
+
+
+/* ---------------------------------------------------------------------------
+ * method idForLexeme(lexeme)
+ * ---------------------------------------------------------------------------
+ * Interns the given identifier lexeme and returns its identifier id.  Equal
+ * lexemes always yield the same id, different lexemes yield different ids.
+ * Ids are assigned in ascending order starting at one.  Returns
+ * INVALID_IDENT_ID if lexeme is null or empty.
+ *
+ * The identifier table is shared by all compilations within a process so
+ * that ids of identifiers in shared definition module scopes are valid in
+ * every thread.  The table is safe for concurrent use.  Lookup of a lexeme
+ * that has already been interned does not acquire any lock.
+ * ------------------------------------------------------------------------ */
+
+public int idForLexeme (String lexeme);
+
+
+/* ---------------------------------------------------------------------------
+ * method lexemeForId(id)
+ * ---------------------------------------------------------------------------
+ * Returns the lexeme of the identifier with the given id, or null if no
+ * identifier with the given id has been interned.
+ * ------------------------------------------------------------------------ */
+
+public String lexemeForId (int id);
+
+
+/* ---------------------------------------------------------------------------
+ * method count()
+ * ---------------------------------------------------------------------------
+ * Returns the number of identifiers interned so far.
+ * ------------------------------------------------------------------------ */
+
+public int count ();
+
+
+} /* ProtoIdentTable */
+
+/* END OF FILE */
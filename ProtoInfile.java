@@ -45,6 +45,8 @@
 
 package org.m2sf.m2j;
 
+import java.nio.channels.ReadableByteChannel;
+
 interface ProtoInfile {
 
 /* ---------------------------------------------------------------------------
@@ -58,6 +60,15 @@ public static int INFILE_MAX_LINES = 64000; /* lines */
 public static int INFILE_MAX_COLUMNS = 250; /* columns */
 
 
+/* ---------------------------------------------------------------------------
+ * Stream buffer limits
+ * ------------------------------------------------------------------------ */
+
+public static int INFILE_STREAM_BUFFER_SIZE = 65536; /* chars */
+
+public static int INFILE_STREAM_LINES_RETAINED = 8; /* lines */
+
+
 /* ---------------------------------------------------------------------------
  * Infile status codes
  * ------------------------------------------------------------------------ */
@@ -70,6 +81,7 @@ public enum Status {
   INFILE_STATUS_ALLOCATION_FAILED,
   INFILE_STATUS_FILE_EMPTY,
   INFILE_STATUS_ATTEMPT_TO_READ_PAST_EOF,
+  INFILE_STATUS_LEXEME_EXCEEDS_BUFFER,
   INFILE_STATUS_IO_SUBSYSTEM_ERROR
 } /* Status */
 
@@ -99,6 +111,42 @@ public enum Status {
 public Result<ProtoInfile, Status> open (String filename);
 
 
+/* ---------------------------------------------------------------------------
+ * constructor openStream(channel, name)
+ * ---------------------------------------------------------------------------
+ * Creates a new infile instance that reads from the given channel, such as
+ * a pipe or standard input, associates the channel with the newly created
+ * instance and returns a result pair with the infile reference and a status
+ * code.  The given name is used in place of a filename in diagnostics.
+ *
+ * Input is read on demand into a ring buffer of INFILE_STREAM_BUFFER_SIZE
+ * characters which holds the lookahead characters and the current marked
+ * lexeme.  Characters before the start of the marked lexeme and before the
+ * start of the oldest retained line are discarded as the buffer is filled
+ * again.  The source of the most recent INFILE_STREAM_LINES_RETAINED lines
+ * is retained for method sourceForLine().  Memory use is thus bounded for
+ * input of any length and the limits INFILE_MAX_SIZE and INFILE_MAX_LINES
+ * do not apply.
+ *
+ * pre-conditions:
+ * o  channel must be open for reading
+ *
+ * post-conditions:
+ * o  new infile created and returned
+ * o  line and column counters of the newly created infile are set to 1
+ * o  INFILE_STATUS_SUCCESS is returned in status
+ *
+ * error-conditions:
+ * o  if channel is null,
+ *    infile is null, status is INFILE_STATUS_INVALID_REFERENCE
+ * o  if reading from channel fails,
+ *    infile is null, status is INFILE_STATUS_IO_SUBSYSTEM_ERROR
+ * ------------------------------------------------------------------------ */
+
+public Result<ProtoInfile, Status>
+  openStream (ReadableByteChannel channel, String name);
+
+
 /* ---------------------------------------------------------------------------
  * method readChar()
  * ---------------------------------------------------------------------------
@@ -159,6 +207,9 @@ public void markLexeme ();
  * error-conditions:
  * o  if no marker has been set or marked character has not been consumed,
  *    no operation is carried out and null is returned
+ * o  if infile reads from a stream and the lexeme has exceeded the stream
+ *    buffer, null is returned and status is set to
+ *    INFILE_STATUS_LEXEME_EXCEEDS_BUFFER
  * ------------------------------------------------------------------------ */
 
 public String readMarkedLexeme ();
@@ -179,6 +230,8 @@ public String readMarkedLexeme ();
  * error-conditions:
  * o  line is negative or zero upon entry,
  *    no operation is carried out and null is returned
+ * o  if infile reads from a stream and line is no longer retained,
+ *    no operation is carried out and null is returned
  * ------------------------------------------------------------------------ */
 
 public String sourceForLine (int line);
@@ -251,6 +304,100 @@ public int nextChar ();
 public int la2Char ();
 
 
+/* ---------------------------------------------------------------------------
+ * method skipWhitespace()
+ * ---------------------------------------------------------------------------
+ * Consumes all whitespace characters, that is space, tab and line terminator
+ * characters, starting at the lookahead character and returns the character
+ * code of the new lookahead character.  Returns ASCII.EOT if the end of
+ * infile is reached.
+ *
+ * The characters are scanned directly within the file buffer and line and
+ * column counters are updated once at the end of each line and at the end
+ * of the scan, not once per character as with consumeChar().
+ *
+ * pre-conditions:
+ * o  infile must be open
+ *
+ * post-conditions:
+ * o  character code of first non-whitespace character or ASCII.EOT is
+ *    returned
+ * o  current reading position and line and column counters are updated
+ * o  file status is set to INFILE_STATUS_SUCCESS
+ *
+ * error-conditions:
+ * o  none
+ * ------------------------------------------------------------------------ */
+
+public int skipWhitespace ();
+
+
+/* ---------------------------------------------------------------------------
+ * method skipCommentText()
+ * ---------------------------------------------------------------------------
+ * Consumes all characters starting at the lookahead character up to but not
+ * including the next character that is significant within a block comment,
+ * that is '(', '*', ')', a line terminator or ASCII.EOT, then returns the
+ * character code of that character.  Used by the lexer to skip the body of
+ * a block comment, the lexer itself tracks the nesting of comments.
+ *
+ * The characters are scanned directly within the file buffer and the column
+ * counter is updated once at the end of the scan.  Since the scan stops at
+ * line terminators, no line counting is required while scanning.
+ *
+ * pre-conditions:
+ * o  infile must be open
+ *
+ * post-conditions:
+ * o  character code of '(', '*', ')', line terminator or ASCII.EOT is
+ *    returned
+ * o  current reading position and column counter are updated
+ * o  file status is set to INFILE_STATUS_SUCCESS
+ *
+ * error-conditions:
+ * o  none
+ * ------------------------------------------------------------------------ */
+
+public int skipCommentText ();
+
+
+/* ---------------------------------------------------------------------------
+ * method skipDisabledSection(first, second)
+ * ---------------------------------------------------------------------------
+ * Consumes all characters starting at the lookahead character up to and
+ * including the next occurrence of the two character delimiter given by
+ * first and second that begins in the first column of a line, then returns
+ * the character code of the new lookahead character.  Returns ASCII.EOT if
+ * the end of infile is reached before the delimiter has been found, but
+ * also if the delimiter is found at the very end of infile, as it may be on
+ * the last line without a trailing line terminator.  The two cases are told
+ * apart by the file status, see status().  Used by the lexer to skip
+ * disabled code sections.
+ *
+ * The characters are scanned directly within the file buffer.  Only line
+ * terminators and characters in the first column of a line are examined,
+ * the remainder of each line is skipped without inspection.  The column
+ * counter is updated once at the end of the scan.
+ *
+ * pre-conditions:
+ * o  infile must be open
+ *
+ * post-conditions:
+ * o  the delimiter has been consumed
+ * o  character code of the character following the delimiter, or ASCII.EOT
+ *    if the delimiter ends infile, is returned
+ * o  current reading position and line and column counters are updated
+ * o  file status is set to INFILE_STATUS_SUCCESS
+ *
+ * error-conditions:
+ * o  if the end of infile is reached before the delimiter has been found,
+ *    all remaining characters are consumed, ASCII.EOT is returned and
+ *    file status is set to INFILE_STATUS_ATTEMPT_TO_READ_PAST_EOF
+ * ------------------------------------------------------------------------ */
+
+public int skipDisabledSection (char first, char second);
+
+
 /* ---------------------------------------------------------------------------
  * method filename()
  * ---------------------------------------------------------------------------
@@ -298,6 +445,15 @@ public int currentLine ();
 public int currentColumn ();
 
 
+/* ---------------------------------------------------------------------------
+ * method currentOffset()
+ * ---------------------------------------------------------------------------
+ * Returns the offset of the lookahead character from the start of infile.
+ * ------------------------------------------------------------------------ */
+
+public int currentOffset ();
+
+
 /* ---------------------------------------------------------------------------
  * method close()
  * ---------------------------------------------------------------------------
@@ -0,0 +1,131 @@
+/* M2J -- Modula-2 to Java Translator & Compiler
+ *
+ * Copyright (c) 2016 The Modula-2 Software Foundation
+ *
+ * Author & Maintainer: Benjamin Kowarsch <trijezdci@org.m2sf>
+ *
+ * @synopsis
+ *
+ * M2J is a multi-dialect Modula-2 to Java translator and via-Java compiler.
+ * It supports the dialects described in the 3rd and 4th editions of Niklaus
+ * Wirth's book "Programming in Modula-2" (PIM) published by Springer Verlag,
+ * and an extended mode with select features from the revised language by
+ * B.Kowarsch and R.Sutcliffe "Modula-2 Revision 2010" (M2R10).
+ *
+ * In translator mode, M2J translates Modula-2 source to Java source files.
+ * In compiler mode, M2J compiles Modula-2 source via Java source files
+ * to Java .class files using the host system's resident Java compiler.
+ *
+ * @repository
+ *
+ * https://github.com/m2sf/m2j
+ *
+ * @file
+ *
+ * ProtoJavaCompiler.java
+ *
+ * Public interface for the host Java compiler driver.
+ *
+ * @license
+ *
+ * M2J is free software: you can redistribute and/or modify it under the
+ * terms of the GNU Lesser General Public License (LGPL) either version 2.1
+ * or at your choice version 3 as published by the Free Software Foundation.
+ * However, you may not alter the copyright, author and license information.
+ *
+ * M2J is distributed in the hope that it will be useful,  but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  Read the license for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with m2j.  If not, see <https://www.gnu.org/copyleft/lesser.html>.
+ *
+ * NB: Components in the domain part of email addresses are in reverse order.
+ */
+
+package org.m2sf.m2j;
+
+interface ProtoJavaCompiler {
+
+/* ---------------------------------------------------------------------------
+ * Java compiler driver status codes
+ * ------------------------------------------------------------------------ */
+
+public enum Status {
+  SUCCESS,
+  COMPILER_NOT_AVAILABLE,
+  SOURCE_FILE_NOT_FOUND,
+  COMPILATION_FAILED,
+  IO_SUBSYSTEM_ERROR
+} /* Status */
+
+
+/* ---------------------------------------------------------------------------
+ * method compileFile(javaPath, outputDir)
+ * ---------------------------------------------------------------------------
+ * Compiles the Java source file at javaPath using the host system's resident
+ * Java compiler, writes the resulting .class files to outputDir and returns
+ * a status code.
+ *
+ * This method is used when both options --xlat and --obj are in effect,
+ * see the backend selection rules in ProtoClassWriter.  The Java source has
+ * then already been written to disk by the translator.
+ *
+ * pre-conditions:
+ * o  javaPath must refer to an existing and accessible Java source file
+ * o  outputDir must refer to an existing and writable directory
+ *
+ * post-conditions:
+ * o  .class files are written to outputDir
+ * o  SUCCESS is returned
+ *
+ * error-conditions:
+ * o  if no Java compiler is available on the host system,
+ *    nothing is written, COMPILER_NOT_AVAILABLE is returned
+ * o  if the file represented by javaPath cannot be found,
+ *    nothing is written, SOURCE_FILE_NOT_FOUND is returned
+ * o  if the Java compiler reports errors,
+ *    COMPILATION_FAILED is returned
+ * ------------------------------------------------------------------------ */
+
+public Status compileFile (String javaPath, String outputDir);
+
+
+/* ---------------------------------------------------------------------------
+ * method compileSource(className, javaSource, outputDir)
+ * ---------------------------------------------------------------------------
+ * Passes the given Java source to the host system's resident Java compiler
+ * as an in-memory compilation unit for the given class name, writes the
+ * resulting .class files to outputDir and returns a status code.
+ *
+ * This method is used when option --obj is in effect but --xlat is not and
+ * the class writer is not available, see the backend selection rules in
+ * ProtoClassWriter.  The Java source is generated into memory by the code
+ * generator and it is never written to nor read back from disk.  Only the
+ * .class files reach the file system.
+ *
+ * pre-conditions:
+ * o  className must be the fully qualified name of the top level class
+ *    declared in javaSource
+ * o  outputDir must refer to an existing and writable directory
+ *
+ * post-conditions:
+ * o  .class files are written to outputDir
+ * o  SUCCESS is returned
+ *
+ * error-conditions:
+ * o  if no Java compiler is available on the host system,
+ *    nothing is written, COMPILER_NOT_AVAILABLE is returned
+ * o  if the Java compiler reports errors,
+ *    COMPILATION_FAILED is returned
+ * o  if the .class files cannot be written to outputDir,
+ *    IO_SUBSYSTEM_ERROR is returned
+ * ------------------------------------------------------------------------ */
+
+public Status compileSource
+  (String className, CharSequence javaSource, String outputDir);
+
+
+} /* ProtoJavaCompiler */
+
+/* END OF FILE */
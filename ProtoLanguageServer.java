@@ -0,0 +1,157 @@
+/* M2J -- Modula-2 to Java Translator & Compiler
+ *
+ * Copyright (c) 2016 The Modula-2 Software Foundation
+ *
+ * Author & Maintainer: Benjamin Kowarsch <trijezdci@org.m2sf>
+ *
+ * @synopsis
+ *
+ * M2J is a multi-dialect Modula-2 to Java translator and via-Java compiler.
+ * It supports the dialects described in the 3rd and 4th editions of Niklaus
+ * Wirth's book "Programming in Modula-2" (PIM) published by Springer Verlag,
+ * and an extended mode with select features from the revised language by
+ * B.Kowarsch and R.Sutcliffe "Modula-2 Revision 2010" (M2R10).
+ *
+ * In translator mode, M2J translates Modula-2 source to Java source files.
+ * In compiler mode, M2J compiles Modula-2 source via Java source files
+ * to Java .class files using the host system's resident Java compiler.
+ *
+ * @repository
+ *
+ * https://github.com/m2sf/m2j
+ *
+ * @file
+ *
+ * ProtoLanguageServer.java
+ *
+ * Public interface for the language server.
+ *
+ * @license
+ *
+ * M2J is free software: you can redistribute and/or modify it under the
+ * terms of the GNU Lesser General Public License (LGPL) either version 2.1
+ * or at your choice version 3 as published by the Free Software Foundation.
+ * However, you may not alter the copyright, author and license information.
+ *
+ * M2J is distributed in the hope that it will be useful,  but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  Read the license for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with m2j.  If not, see <https://www.gnu.org/copyleft/lesser.html>.
+ *
+ * NB: Components in the domain part of email addresses are in reverse order.
+ */
+
+package org.m2sf.m2j;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+interface ProtoLanguageServer {
+
+/* ---------------------------------------------------------------------------
+ * Language server status codes
+ * ------------------------------------------------------------------------ */
+
+public enum Status {
+  SUCCESS,
+  DOCUMENT_NOT_OPEN,
+  DOCUMENT_ALREADY_OPEN,
+  STALE_VERSION,
+  PROTOCOL_ERROR,
+  CONNECTION_LOST
+} /* Status */
+
+
+/* ---------------------------------------------------------------------------
+ * constructor newLanguageServer(in, out)
+ * ---------------------------------------------------------------------------
+ * Creates a new language server instance that reads Language Server Protocol
+ * messages from in and writes responses and notifications to out, and
+ * returns a Result pair with the server reference and a status value.
+ *
+ * Analysis of a document is carried out on a virtual thread using the lexer
+ * and parser.  Warnings and errors reported during analysis are published
+ * as LSP diagnostics for the document, with severity Warning for diagnostic
+ * codes for which ProtoDiagnostics.isWarning() returns true and severity
+ * Error for all others, which includes option, lexical, syntax and semantic
+ * errors.  The resulting AST is cached per open document.
+ * ------------------------------------------------------------------------ */
+
+public Result<ProtoLanguageServer, Status>
+  newLanguageServer (InputStream in, OutputStream out);
+
+
+/* ---------------------------------------------------------------------------
+ * method serve()
+ * ---------------------------------------------------------------------------
+ * Reads and dispatches messages until an exit notification is received or
+ * the connection is closed and returns a status code.
+ * ------------------------------------------------------------------------ */
+
+public Status serve ();
+
+
+/* ---------------------------------------------------------------------------
+ * method openDocument(uri, version, text)
+ * ---------------------------------------------------------------------------
+ * Registers the document at uri with the given version and text, schedules
+ * its analysis and returns a status code.  The text is analysed as is, even
+ * if it has not been saved, with a channel reading from the text and with
+ * uri as the name.  The parser is chosen by the suffix of uri, ignoring
+ * case: ProtoParser.parseDefFromStream() is used for .def documents and
+ * ProtoParser.parseModFromStream() for all others.  Returns
+ * DOCUMENT_ALREADY_OPEN if the document has already been opened.
+ * ------------------------------------------------------------------------ */
+
+public Status openDocument (String uri, int version, String text);
+
+
+/* ---------------------------------------------------------------------------
+ * method changeDocument(uri, version, offset, removedLength, insertedText)
+ * ---------------------------------------------------------------------------
+ * Applies an edit to the open document at uri, schedules its analysis and
+ * returns a status code.  Analysis of an edited .mod document is incremental
+ * using ProtoParser.reparseMod() with uri as the filename.  An edited .def
+ * document is parsed again in full using ProtoParser.parseDefFromStream() on
+ * the edited text, which the server keeps for every open .def document.  Any
+ * analysis of an older version of the document that has not yet completed is
+ * cancelled and its results are never published.  Returns STALE_VERSION if
+ * version is not newer than the version of the last change and
+ * DOCUMENT_NOT_OPEN if the document is not open.
+ * ------------------------------------------------------------------------ */
+
+public Status changeDocument
+  (String uri, int version,
+   int offset, int removedLength, String insertedText);
+
+
+/* ---------------------------------------------------------------------------
+ * method closeDocument(uri)
+ * ---------------------------------------------------------------------------
+ * Cancels any pending analysis of the document at uri, releases its cached
+ * AST and returns a status code.  Returns DOCUMENT_NOT_OPEN if the document
+ * is not open.
+ * ------------------------------------------------------------------------ */
+
+public Status closeDocument (String uri);
+
+
+/* ---------------------------------------------------------------------------
+ * method documentSymbols(uri)
+ * ---------------------------------------------------------------------------
+ * Returns a list of the AST_PROC, AST_TYPEDECL and AST_CONSTDEF nodes of the
+ * cached AST of the open .mod document at uri, or of the AST_PROCDEF,
+ * AST_TYPEDEF and AST_CONSTDEF nodes of the cached AST of the open .def
+ * document at uri, in source order.  The document is not parsed again.
+ * Returns null if the document is not open.
+ * ------------------------------------------------------------------------ */
+
+public List<ProtoAstNode> documentSymbols (String uri);
+
+
+} /* ProtoLanguageServer */
+
+/* END OF FILE */
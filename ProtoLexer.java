@@ -45,6 +45,8 @@
 
 package org.m2sf.m2j;
 
+import java.nio.channels.ReadableByteChannel;
+
 interface ProtoLexer {
 
 /* ---------------------------------------------------------------------------
@@ -56,6 +58,24 @@ public static int MAX_IDENT_LENGTH = 32;
 public static int COMMENT_NESTING_LIMIT = 100;
 
 
+/* ---------------------------------------------------------------------------
+ * Disabled code sections
+ * ---------------------------------------------------------------------------
+ * A disabled code section starts with a line that begins with '?<' in the
+ * first column and ends with a line that begins with '>?' in the first
+ * column.  The lexer skips disabled code sections using the file reader's
+ * skipDisabledSection() method.  No symbols are produced for them and the
+ * parser never sees their content.  A warning WARN_DISABLED_CODE_SECTION
+ * is reported with the first and last line of each skipped section.  If
+ * the end of the file is reached within a disabled code section, that is,
+ * if the file status is INFILE_STATUS_ATTEMPT_TO_READ_PAST_EOF after
+ * skipDisabledSection() has returned, error
+ * ERROR_EOF_IN_DISABLED_CODE_SECTION is reported.  A section whose closing
+ * delimiter ends the file is well-formed, even though skipDisabledSection()
+ * then also returns ASCII.EOT.
+ * ------------------------------------------------------------------------ */
+
+
 /* ---------------------------------------------------------------------------
  * Lexer status codes
  * ------------------------------------------------------------------------ */
@@ -93,6 +113,54 @@ public enum Status {
 public Result<ProtoLexer, Status> newLexer (String filename);
 
 
+/* ---------------------------------------------------------------------------
+ * constructor newLexer(filename, preserveComments)
+ * ---------------------------------------------------------------------------
+ * Creates a new lexer instance as described for newLexer(filename).  If
+ * preserveComments is true, the lexer records the position of every comment
+ * it skips so that the code generator can carry comments over into its
+ * output, see commentCount().  If preserveComments is false, the lexer
+ * behaves like a lexer created with newLexer(filename).  Comments are then
+ * skipped without being recorded and without any allocation.
+ * ----------------------------------------------------------------------- */
+
+public Result<ProtoLexer, Status>
+  newLexer (String filename, boolean preserveComments);
+
+
+/* ---------------------------------------------------------------------------
+ * constructor newLexerForStream(channel, name)
+ * ---------------------------------------------------------------------------
+ * Creates a new lexer instance that reads its input from the given channel
+ * using ProtoInfile.openStream() and returns a Result pair with the lexer
+ * reference and a status value.  The given name is used in place of a
+ * filename in diagnostics.
+ *
+ * error-conditions:
+ * o  if the channel cannot be read,
+ *    lexer is set to null, status is set to FILE_ACCESS_DENIED
+ * ----------------------------------------------------------------------- */
+
+public Result<ProtoLexer, Status>
+  newLexerForStream (ReadableByteChannel channel, String name);
+
+
+/* ---------------------------------------------------------------------------
+ * constructor newLexerForStream(channel, name, preserveComments)
+ * ---------------------------------------------------------------------------
+ * Creates a new lexer instance as described for newLexerForStream(channel,
+ * name) which records comments as described for newLexer(filename,
+ * preserveComments).  A stream is read through a buffer that is reused as
+ * reading progresses, so the text of a comment is no longer available once
+ * the lexer has moved past it.  If preserveComments is true, the text of
+ * every comment is therefore captured when the comment is skipped and kept
+ * with its position, see commentText().
+ * ----------------------------------------------------------------------- */
+
+public Result<ProtoLexer, Status> newLexerForStream
+  (ReadableByteChannel channel, String name, boolean preserveComments);
+
+
 /* --------------------------------------------------------------------------
  * method readSym()
  * --------------------------------------------------------------------------
@@ -223,11 +291,68 @@ public int lookaheadColumn ();
 public int currentColumn ();
 
 
+/* --------------------------------------------------------------------------
+ * method commentCount()
+ * --------------------------------------------------------------------------
+ * Returns the number of comments recorded so far.  Comments are recorded in
+ * the order they appear in the source, each with its offset, length and
+ * line, stored in a single int array that grows as needed.  Returns zero if
+ * the lexer has been created without preserving comments.
+ * ----------------------------------------------------------------------- */
+
+public int commentCount ();
+
+
+/* --------------------------------------------------------------------------
+ * method commentOffset(index)
+ * --------------------------------------------------------------------------
+ * Returns the source offset of the opening delimiter of the comment with the
+ * given index, or -1 if no comment with the given index has been recorded.
+ * ----------------------------------------------------------------------- */
+
+public int commentOffset (int index);
+
+
+/* --------------------------------------------------------------------------
+ * method commentLength(index)
+ * --------------------------------------------------------------------------
+ * Returns the length of the comment with the given index including its
+ * delimiters, or -1 if no comment with the given index has been recorded.
+ * ----------------------------------------------------------------------- */
+
+public int commentLength (int index);
+
+
+/* --------------------------------------------------------------------------
+ * method commentLine(index)
+ * --------------------------------------------------------------------------
+ * Returns the line of the opening delimiter of the comment with the given
+ * index, or -1 if no comment with the given index has been recorded.
+ * ----------------------------------------------------------------------- */
+
+public int commentLine (int index);
+
+
+/* --------------------------------------------------------------------------
+ * method commentText(index)
+ * --------------------------------------------------------------------------
+ * Returns a string with the text of the comment with the given index
+ * including its delimiters, or null if no comment with the given index has
+ * been recorded.  For a lexer reading from a file, the string is only
+ * created when this method is called.  For a lexer reading from a stream,
+ * the string has been captured when the comment was skipped.
+ * ----------------------------------------------------------------------- */
+
+public String commentText (int index);
+
+
 /* --------------------------------------------------------------------------
  * method printLineAndMarkColumn(line, column)
  * --------------------------------------------------------------------------
  * Prints the given source line of the current symbol to the console and
- * marks the given coloumn with a caret '^'.
+ * marks the given coloumn with a caret '^'.  If a diagnostic sink is set
+ * for the calling thread, the source line is attached to the most recent
+ * record of the sink instead, see ProtoDiagnosticSink.attachSourceLine().
  * ----------------------------------------------------------------------- */
 
 public void printLineAndMarkColumn (int line, int column);
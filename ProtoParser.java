@@ -45,8 +45,17 @@
 
 package org.m2sf.m2j;
 
+import java.nio.channels.ReadableByteChannel;
+
 interface ProtoParser {
 
+/* ---------------------------------------------------------------------------
+ * Error recovery limits
+ * ------------------------------------------------------------------------ */
+
+public static int RESYNC_SKIP_LIMIT = 64; /* tokens */
+
+
 /* ---------------------------------------------------------------------------
  * Parser status codes
  * ------------------------------------------------------------------------ */
@@ -55,14 +64,49 @@ public enum Status {
   SUCCESS,
   FILE_NOT_FOUND,
   FILE_ACCESS_DENIED,
+  SYNTAX_ERRORS_FOUND,
+  ERROR_LIMIT_REACHED,
   TODO
 } /* Status */
 
 
+/* ---------------------------------------------------------------------------
+ * Error recovery
+ * ---------------------------------------------------------------------------
+ * When a syntax error is encountered, the parser reports it by calling
+ * emitSyntaxErrorWithToken() or emitSyntaxErrorWithSet(), then skips tokens
+ * until the lookahead symbol is in the FOLLOW set of the production being
+ * parsed, ProtoNonTerminals.FOLLOW(p), or in the FOLLOW set of an enclosing
+ * production, or until END_OF_FILE.  An AST_INVALID node is inserted in
+ * place of the subtree that could not be built and parsing continues.
+ *
+ * Recovery never backtracks.  Since the synchronising set already includes
+ * the FOLLOW sets of all enclosing productions, a single scan serves all
+ * of them.  At most RESYNC_SKIP_LIMIT tokens are skipped for a single error
+ * in total.  If a synchronising token is found within that limit, the
+ * productions nested within the innermost one whose FOLLOW set contains it
+ * are abandoned, each with an AST_INVALID node in place of its subtree, and
+ * parsing continues in that production.  If no synchronising token is
+ * found within that limit, no further tokens are skipped in enclosing
+ * productions.  Instead, the parser stops at the top level: an AST_INVALID
+ * node is inserted in place of the remainder of the file, as when the error
+ * limit has been reached, and the status is SYNTAX_ERRORS_FOUND.
+ * Every token is thus consumed at most once and parsing stays linear even
+ * for files with many errors.
+ *
+ * If ProtoDiagnostics.errorLimitReached() returns true after a syntax error
+ * has been reported, the parser stops.  The syntax check methods then
+ * return ERROR_LIMIT_REACHED, the parse methods return an AST with an
+ * AST_INVALID node in place of the remainder of the file and status()
+ * returns ERROR_LIMIT_REACHED.
+ * ------------------------------------------------------------------------ */
+
+
 /* ---------------------------------------------------------------------------
  * method checkSyntaxForDef(filename)
  * ---------------------------------------------------------------------------
- * Syntax checks a Modula-2 .DEF file represented by filename.
+ * Syntax checks a Modula-2 .DEF file represented by filename.  Returns
+ * SYNTAX_ERRORS_FOUND if any syntax errors have been reported.
  * ------------------------------------------------------------------------ */
 
 public Status checkSyntaxForDef (String filename);
@@ -71,7 +115,8 @@ public Status checkSyntaxForDef (String filename);
 /* ---------------------------------------------------------------------------
  * method checkSyntaxForMod(filename)
  * ---------------------------------------------------------------------------
- * Syntax checks a Modula-2 .MOD file represented by filename.
+ * Syntax checks a Modula-2 .MOD file represented by filename.  Returns
+ * SYNTAX_ERRORS_FOUND if any syntax errors have been reported.
  * ------------------------------------------------------------------------ */
 
 public Status checkSyntaxForMod (String filename);
@@ -81,6 +126,7 @@ public Status checkSyntaxForMod (String filename);
  * method parseDef(filename)
  * ---------------------------------------------------------------------------
  * Parses a Modula-2 .DEF file represented by filename and returns an AST.
+ * If syntax errors have been reported, the AST contains AST_INVALID nodes.
  * ------------------------------------------------------------------------ */
 
 public ProtoAstNode parseDef (String filename);
@@ -90,11 +136,121 @@ public ProtoAstNode parseDef (String filename);
  * method parseMod(filename)
  * ---------------------------------------------------------------------------
  * Parses a Modula-2 .MOD file represented by filename and returns an AST.
+ * If syntax errors have been reported, the AST contains AST_INVALID nodes.
  * ------------------------------------------------------------------------ */
 
 public ProtoAstNode parseMod (String filename);
 
 
+/* ---------------------------------------------------------------------------
+ * method parseModFromStream(channel, name)
+ * ---------------------------------------------------------------------------
+ * Parses a Modula-2 .MOD source read from the given channel and returns an
+ * AST, like parseMod() does for a file.  The source is read by a lexer
+ * created with ProtoLexer.newLexerForStream() and the given name is used in
+ * place of a filename, both in diagnostics and for reparseMod().  Used for
+ * editor integration where the source has not been saved to disk.
+ *
+ * The lexer's infile only retains the most recent lines of a stream, see
+ * INFILE_STREAM_LINES_RETAINED.  The parser therefore retains the full
+ * source text itself as it is read from the channel, like parseMod() does
+ * for a file, so that the text is available to reparseMod().
+ * ------------------------------------------------------------------------ */
+
+public ProtoAstNode
+  parseModFromStream (ReadableByteChannel channel, String name);
+
+
+/* ---------------------------------------------------------------------------
+ * method parseDefFromStream(channel, name)
+ * ---------------------------------------------------------------------------
+ * Parses a Modula-2 .DEF source read from the given channel and returns an
+ * AST, like parseDef() does for a file.  The source is read by a lexer
+ * created with ProtoLexer.newLexerForStream() and the given name is used in
+ * place of a filename in diagnostics.  Used for editor integration where
+ * the source has not been saved to disk.  The source text is not retained,
+ * there is no incremental reparse for definition modules.
+ * ------------------------------------------------------------------------ */
+
+public ProtoAstNode
+  parseDefFromStream (ReadableByteChannel channel, String name);
+
+
+/* ---------------------------------------------------------------------------
+ * method reparseMod(ast, filename, offset, removedLength, insertedText)
+ * ---------------------------------------------------------------------------
+ * Applies an edit to the source of the Modula-2 .MOD file represented by
+ * filename, or to the source parsed by parseModFromStream() under the name
+ * given in filename, updates the given AST of that source accordingly and
+ * returns it.  The edit replaces removedLength characters at the given
+ * offset with insertedText.  Used for editor integration.
+ *
+ * When parsing a .MOD file or stream, the parser retains its full source text
+ * and records the source length of every AST_DECLLIST, AST_PROC and
+ * AST_STMTSEQ node.  It also records the start line and offset of each such
+ * node with ProtoAstNode.setPosition(), as it does for every declaration
+ * and statement node.  The parser keeps all nodes with recorded positions
+ * in an array in source order.
+ *
+ * On reparse, the innermost AST_DECLLIST, AST_PROC or AST_STMTSEQ node
+ * enclosing the edit is located, a lexer is started at the recorded line
+ * and offset of that node, only the tokens within its adjusted range are
+ * lexed again and only that node is parsed again, then it is replaced
+ * within the AST using replaceSubnode().  The positions of the nodes of the
+ * new subtree are recorded as the subtree is parsed.  Subtrees outside the
+ * range are reused unchanged.  For every positioned node that follows the
+ * range, its offset is shifted by the difference in length between the
+ * inserted and the removed text, and its line by the difference between
+ * the number of line breaks in the inserted and in the removed text.  This
+ * is a single pass over the array of positioned nodes, starting after the
+ * range, no subtree is visited.  Nodes preceding the range keep their
+ * positions.  If the new subtree does not end on the same token boundary as
+ * the old one, the edit is treated as enclosed by the next outer such node.
+ *
+ * pre-conditions:
+ * o  ast must have been returned by parseMod(), parseModFromStream() or
+ *    reparseMod() for filename
+ * o  offset and removedLength must lie within the retained source text
+ *
+ * post-conditions:
+ * o  the updated AST is returned
+ * o  the retained source text reflects the edit
+ * o  lineOf() and offsetOf() return positions within the edited text for
+ *    every positioned node of the returned AST
+ *
+ * error-conditions:
+ * o  if ast has not been parsed from filename or if no node encloses the
+ *    edit, the file is parsed in full and a new AST is returned
+ * ------------------------------------------------------------------------ */
+
+public ProtoAstNode reparseMod
+  (ProtoAstNode ast, String filename,
+   int offset, int removedLength, String insertedText);
+
+
+/* ---------------------------------------------------------------------------
+ * method errorCount()
+ * ---------------------------------------------------------------------------
+ * Returns the number of syntax errors reported during the last syntax check
+ * or parse.
+ * ------------------------------------------------------------------------ */
+
+public int errorCount ();
+
+
+/* ---------------------------------------------------------------------------
+ * method status()
+ * ---------------------------------------------------------------------------
+ * Returns the status of the last syntax check, parse or reparse.  This is
+ * SUCCESS if no syntax errors have been reported, ERROR_LIMIT_REACHED if
+ * parsing has been stopped because the error limit has been reached and
+ * SYNTAX_ERRORS_FOUND otherwise.  Since the parse and reparse methods only
+ * return an AST, this is the way to learn that parsing has been stopped.
+ * ------------------------------------------------------------------------ */
+
+public Status status ();
+
+
 } /* ProtoParser */
 
 /* END OF FILE */
\ No newline at end of file
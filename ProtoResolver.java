@@ -0,0 +1,125 @@
+/* M2J -- Modula-2 to Java Translator & Compiler
+ *
+ * Copyright (c) 2016 The Modula-2 Software Foundation
+ *
+ * Author & Maintainer: Benjamin Kowarsch <trijezdci@org.m2sf>
+ *
+ * @synopsis
+ *
+ * M2J is a multi-dialect Modula-2 to Java translator and via-Java compiler.
+ * It supports the dialects described in the 3rd and 4th editions of Niklaus
+ * Wirth's book "Programming in Modula-2" (PIM) published by Springer Verlag,
+ * and an extended mode with select features from the revised language by
+ * B.Kowarsch and R.Sutcliffe "Modula-2 Revision 2010" (M2R10).
+ *
+ * In translator mode, M2J translates Modula-2 source to Java source files.
+ * In compiler mode, M2J compiles Modula-2 source via Java source files
+ * to Java .class files using the host system's resident Java compiler.
+ *
+ * @repository
+ *
+ * https://github.com/m2sf/m2j
+ *
+ * @file
+ *
+ * ProtoResolver.java
+ *
+ * Public interface for name resolution.
+ *
+ * @license
+ *
+ * M2J is free software: you can redistribute and/or modify it under the
+ * terms of the GNU Lesser General Public License (LGPL) either version 2.1
+ * or at your choice version 3 as published by the Free Software Foundation.
+ * However, you may not alter the copyright, author and license information.
+ *
+ * M2J is distributed in the hope that it will be useful,  but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  Read the license for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with m2j.  If not, see <https://www.gnu.org/copyleft/lesser.html>.
+ *
+ * NB: Components in the domain part of email addresses are in reverse order.
+ */
+
+package org.m2sf.m2j;
+
+interface ProtoResolver {
+
+/* ---------------------------------------------------------------------------
+ * Resolver status codes
+ * ------------------------------------------------------------------------ */
+
+public enum Status {
+  SUCCESS,
+  INVALID_AST,
+  SEMANTIC_ERRORS_FOUND
+} /* Status */
+
+
+/* ---------------------------------------------------------------------------
+ * method resolve(ast, defCache)
+ * ---------------------------------------------------------------------------
+ * Builds the scopes of the given module AST, resolves every identifier used
+ * within the module to its declaration and returns a paired result with the
+ * module scope and a status code.
+ *
+ * A scope is created for the module and for every local module, procedure
+ * and WITH statement.  Each AST node is visited once and each identifier
+ * is resolved by hashed lookups of its interned id, so resolution is linear
+ * in the size of the AST.  The module scope is created with the pervasive
+ * scope returned by ProtoScope.pervasiveScope() for the dialect key in
+ * effect as its outer scope.  Identifiers not found up to the enclosing
+ * module boundary are looked up in that pervasive scope, see
+ * ProtoScope.lookup().
+ *
+ * Scopes of imported definition modules are obtained from defCache, using
+ * the path of the file with the imported module's name and suffix .def in
+ * the directory of the module being resolved and the dialect key in effect,
+ * see ProtoArgumentParser.dialectKey().  For an implementation module
+ * the scope of its own definition module is obtained likewise and its
+ * identifiers are defined within the module scope.  A qualified import
+ * defines the module identifier within the importing scope, qualified
+ * identifiers are then resolved by ProtoScope.lookupLocal() within the
+ * imported module's scope.  An unqualified import defines each imported
+ * identifier within the importing scope, associated with its declaration
+ * in the imported module's scope.  Imported scopes are sealed and shared,
+ * they are never copied.
+ *
+ * error-conditions:
+ * o  if ast is not a valid module AST,
+ *    scope is null, status is INVALID_AST
+ * o  if an identifier is declared twice within the same scope, error
+ *    ERROR_DUPLICATE_DECLARATION is reported,
+ *    status is SEMANTIC_ERRORS_FOUND
+ * o  if an identifier is not declared in any visible scope, error
+ *    ERROR_UNDECLARED_IDENTIFIER is reported,
+ *    status is SEMANTIC_ERRORS_FOUND
+ * o  if the definition module of an imported module cannot be obtained from
+ *    defCache, error ERROR_IMPORTED_MODULE_NOT_FOUND is reported,
+ *    status is SEMANTIC_ERRORS_FOUND
+ * o  if defCache returns IMPORT_CYCLE for an imported module,
+ *    error ERROR_CYCLIC_IMPORT is reported, status is SEMANTIC_ERRORS_FOUND
+ * ------------------------------------------------------------------------ */
+
+public Result<ProtoScope, Status>
+  resolve (ProtoAstNode ast, ProtoDefCache defCache);
+
+
+/* ---------------------------------------------------------------------------
+ * method scopeForNode(node)
+ * ---------------------------------------------------------------------------
+ * Returns the scope owned by the given node as built by the last call to
+ * resolve(), or null if node does not own a scope.  Nodes owning a scope
+ * are the module node and every AST_MODDECL, AST_PROC and AST_WITH node.
+ * Passes that run after name resolution use this method to track the
+ * innermost enclosing scope while traversing the AST.
+ * ------------------------------------------------------------------------ */
+
+public ProtoScope scopeForNode (ProtoAstNode node);
+
+
+} /* ProtoResolver */
+
+/* END OF FILE */
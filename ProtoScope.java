@@ -0,0 +1,239 @@
+/* M2J -- Modula-2 to Java Translator & Compiler
+ *
+ * Copyright (c) 2016 The Modula-2 Software Foundation
+ *
+ * Author & Maintainer: Benjamin Kowarsch <trijezdci@org.m2sf>
+ *
+ * @synopsis
+ *
+ * M2J is a multi-dialect Modula-2 to Java translator and via-Java compiler.
+ * It supports the dialects described in the 3rd and 4th editions of Niklaus
+ * Wirth's book "Programming in Modula-2" (PIM) published by Springer Verlag,
+ * and an extended mode with select features from the revised language by
+ * B.Kowarsch and R.Sutcliffe "Modula-2 Revision 2010" (M2R10).
+ *
+ * In translator mode, M2J translates Modula-2 source to Java source files.
+ * In compiler mode, M2J compiles Modula-2 source via Java source files
+ * to Java .class files using the host system's resident Java compiler.
+ *
+ * @repository
+ *
+ * https://github.com/m2sf/m2j
+ *
+ * @file
+ *
+ * ProtoScope.java
+ *
+ * Public interface for scopes and symbol lookup.
+ *
+ * @license
+ *
+ * M2J is free software: you can redistribute and/or modify it under the
+ * terms of the GNU Lesser General Public License (LGPL) either version 2.1
+ * or at your choice version 3 as published by the Free Software Foundation.
+ * However, you may not alter the copyright, author and license information.
+ *
+ * M2J is distributed in the hope that it will be useful,  but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  Read the license for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with m2j.  If not, see <https://www.gnu.org/copyleft/lesser.html>.
+ *
+ * NB: Components in the domain part of email addresses are in reverse order.
+ */
+
+package org.m2sf.m2j;
+
+interface ProtoScope {
+
+/* ---------------------------------------------------------------------------
+ * Scope table limits
+ * ------------------------------------------------------------------------ */
+
+public static int SCOPE_INITIAL_CAPACITY = 16; /* symbols */
+
+
+/* ---------------------------------------------------------------------------
+ * type Kind
+ * ---------------------------------------------------------------------------
+ * Enumerated values representing the kinds of scopes.
+ * ------------------------------------------------------------------------ */
+
+public enum Kind {
+  PERVASIVE,              /* predefined identifiers of the dialect */
+  MODULE,                 /* definition, implementation or program module */
+  LOCAL_MODULE,           /* local module, AST_MODDECL */
+  PROCEDURE,              /* procedure, AST_PROC */
+  WITH                    /* record fields within WITH statement, AST_WITH */
+} /* Kind */
+
+
+/* ---------------------------------------------------------------------------
+ * Scope status codes
+ * ------------------------------------------------------------------------ */
+
+public enum Status {
+  SUCCESS,
+  INVALID_IDENT,
+  DUPLICATE_IDENT,
+  SCOPE_SEALED
+} /* Status */
+
+
+/* ---------------------------------------------------------------------------
+ * method pervasiveScope(dialectKey)
+ * ---------------------------------------------------------------------------
+ * Returns the pervasive scope for the dialect mode and capabilities
+ * identified by dialectKey, see ProtoArgumentParser.dialectKey().
+ *
+ * A pervasive scope holds the predefined identifiers of a configuration,
+ * such as the types INTEGER, CARDINAL, BOOLEAN and CHAR, the constants TRUE,
+ * FALSE and NIL, and the procedures ABS, INC, DEC and HALT, as well as those
+ * only predefined in some dialects or with some capabilities, such as the
+ * additional types and functions of the extended dialect or NEWPROCESS and
+ * TRANSFER with coroutines.  Each identifier is associated with a predefined
+ * declaration node which is built once per configuration.
+ *
+ * There is one pervasive scope per dialect key.  It is created when the key
+ * is first requested, it is of kind PERVASIVE, it has no outer scope, it is
+ * sealed upon creation and it is shared by all compilations within a
+ * process that use the same key.  Thus compilations in different dialects
+ * may run within the same process, such as a daemon.
+ * ------------------------------------------------------------------------ */
+
+public ProtoScope pervasiveScope (String dialectKey);
+
+
+/* ---------------------------------------------------------------------------
+ * constructor newScope(kind, outer, owner)
+ * ---------------------------------------------------------------------------
+ * Creates a new empty scope of the given kind, nested within the given
+ * outer scope and belonging to the given AST node, and returns a result
+ * pair with the scope reference and a status code.  The outer scope of a
+ * module scope is the pervasive scope of the configuration in which the
+ * module is resolved.
+ *
+ * A scope stores its symbols in an open addressing hash table with linear
+ * probing, keyed by identifier ids obtained from ProtoIdentTable.  Keys and
+ * AST node references are held in two parallel arrays, no entry objects are
+ * allocated.  The table starts with SCOPE_INITIAL_CAPACITY slots and its
+ * capacity is doubled whenever it becomes more than half full.
+ *
+ * post-conditions:
+ * o  new empty scope created and returned
+ * o  SUCCESS is returned in status
+ * ------------------------------------------------------------------------ */
+
+public Result<ProtoScope, Status>
+  newScope (Kind kind, ProtoScope outer, ProtoAstNode owner);
+
+
+/* ---------------------------------------------------------------------------
+ * method define(identId, decl)
+ * ---------------------------------------------------------------------------
+ * Defines the identifier with the given id within the scope, associates it
+ * with the given declaration node and returns a status code.
+ *
+ * error-conditions:
+ * o  if identId is not a valid identifier id,
+ *    nothing is defined and INVALID_IDENT is returned
+ * o  if the identifier is already defined within the scope,
+ *    nothing is defined and DUPLICATE_IDENT is returned
+ * o  if the scope has been sealed,
+ *    nothing is defined and SCOPE_SEALED is returned
+ * ------------------------------------------------------------------------ */
+
+public Status define (int identId, ProtoAstNode decl);
+
+
+/* ---------------------------------------------------------------------------
+ * method lookupLocal(identId)
+ * ---------------------------------------------------------------------------
+ * Returns the declaration node associated with the identifier with the given
+ * id within the scope itself, or null if it is not defined in the scope.
+ * ------------------------------------------------------------------------ */
+
+public ProtoAstNode lookupLocal (int identId);
+
+
+/* ---------------------------------------------------------------------------
+ * method lookup(identId)
+ * ---------------------------------------------------------------------------
+ * Returns the declaration node associated with the identifier with the given
+ * id within the scope or the nearest enclosing scope in which it is defined,
+ * or null if it is not defined in any visible scope.
+ *
+ * The search proceeds outwards through WITH and PROCEDURE scopes up to and
+ * including the first MODULE or LOCAL_MODULE scope encountered, since
+ * identifiers of outer scopes are only visible within a module if they are
+ * imported.  Imported identifiers are defined within the importing module's
+ * scope.  If the identifier is not found up to the module boundary, the
+ * outer scope of the outermost module scope, which is the pervasive scope
+ * of the module's configuration, is searched last, see pervasiveScope().
+ * ------------------------------------------------------------------------ */
+
+public ProtoAstNode lookup (int identId);
+
+
+/* ---------------------------------------------------------------------------
+ * method seal()
+ * ---------------------------------------------------------------------------
+ * Seals the scope.  No further identifiers can be defined within a sealed
+ * scope.  A sealed scope is immutable and it may therefore be shared by any
+ * number of threads without synchronisation.  Scopes of definition modules
+ * are sealed once resolved so that they can be shared across compilations.
+ * ------------------------------------------------------------------------ */
+
+public void seal ();
+
+
+/* ---------------------------------------------------------------------------
+ * method isSealed()
+ * ---------------------------------------------------------------------------
+ * Returns true if the scope has been sealed, otherwise false.
+ * ------------------------------------------------------------------------ */
+
+public boolean isSealed ();
+
+
+/* ---------------------------------------------------------------------------
+ * method kind()
+ * ---------------------------------------------------------------------------
+ * Returns the kind of the scope.
+ * ------------------------------------------------------------------------ */
+
+public Kind kind ();
+
+
+/* ---------------------------------------------------------------------------
+ * method outer()
+ * ---------------------------------------------------------------------------
+ * Returns the enclosing scope, or null if the scope is a pervasive scope.
+ * The enclosing scope of a module scope is a pervasive scope.
+ * ------------------------------------------------------------------------ */
+
+public ProtoScope outer ();
+
+
+/* ---------------------------------------------------------------------------
+ * method owner()
+ * ---------------------------------------------------------------------------
+ * Returns the AST node the scope belongs to.
+ * ------------------------------------------------------------------------ */
+
+public ProtoAstNode owner ();
+
+
+/* ---------------------------------------------------------------------------
+ * method count()
+ * ---------------------------------------------------------------------------
+ * Returns the number of identifiers defined within the scope.
+ * ------------------------------------------------------------------------ */
+
+public int count ();
+
+
+} /* ProtoScope */
+
+/* END OF FILE */
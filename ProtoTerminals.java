@@ -45,6 +45,8 @@
 
 package org.m2sf.m2j;
 
+import java.util.EnumSet;
+
 interface ProtoTerminals {
 
 /* ---------------------------------------------------------------------------
@@ -202,6 +204,29 @@ public String lexemeForSpecialSymbol (Token token);
 public String nameForToken (Token token);
 
 
+/* ---------------------------------------------------------------------------
+ * function lowBitsForTokenSet(tokenSet)
+ * ---------------------------------------------------------------------------
+ * Returns a bitmask representing the tokens in tokenSet whose ordinal value
+ * is less than 64.  Bit n is set if the token with ordinal value n is in
+ * tokenSet.  Together with highBitsForTokenSet() this allows a token set to
+ * be stored in two long values without allocation.
+ * ------------------------------------------------------------------------ */
+
+public long lowBitsForTokenSet (EnumSet<Token> tokenSet);
+
+
+/* ---------------------------------------------------------------------------
+ * function highBitsForTokenSet(tokenSet)
+ * ---------------------------------------------------------------------------
+ * Returns a bitmask representing the tokens in tokenSet whose ordinal value
+ * is 64 or greater.  Bit n is set if the token with ordinal value n + 64 is
+ * in tokenSet.
+ * ------------------------------------------------------------------------ */
+
+public long highBitsForTokenSet (EnumSet<Token> tokenSet);
+
+
 } /* ProtoTerminals */
 
 /* END OF FILE */
\ No newline at end of file
@@ -0,0 +1,177 @@
+/* M2J -- Modula-2 to Java Translator & Compiler
+ *
+ * Copyright (c) 2016 The Modula-2 Software Foundation
+ *
+ * Author & Maintainer: Benjamin Kowarsch <trijezdci@org.m2sf>
+ *
+ * @synopsis
+ *
+ * M2J is a multi-dialect Modula-2 to Java translator and via-Java compiler.
+ * It supports the dialects described in the 3rd and 4th editions of Niklaus
+ * Wirth's book "Programming in Modula-2" (PIM) published by Springer Verlag,
+ * and an extended mode with select features from the revised language by
+ * B.Kowarsch and R.Sutcliffe "Modula-2 Revision 2010" (M2R10).
+ *
+ * In translator mode, M2J translates Modula-2 source to Java source files.
+ * In compiler mode, M2J compiles Modula-2 source via Java source files
+ * to Java .class files using the host system's resident Java compiler.
+ *
+ * @repository
+ *
+ * https://github.com/m2sf/m2j
+ *
+ * @file
+ *
+ * RuntimeCoroutines.java
+ *
+ * Runtime support for coroutines in translated programs.
+ *
+ * @license
+ *
+ * M2J is free software: you can redistribute and/or modify it under the
+ * terms of the GNU Lesser General Public License (LGPL) either version 2.1
+ * or at your choice version 3 as published by the Free Software Foundation.
+ * However, you may not alter the copyright, author and license information.
+ *
+ * M2J is distributed in the hope that it will be useful,  but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  Read the license for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with m2j.  If not, see <https://www.gnu.org/copyleft/lesser.html>.
+ *
+ * NB: Components in the domain part of email addresses are in reverse order.
+ */
+
+package org.m2sf.m2j;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.LockSupport;
+
+/* --------------------------------------------------------------------------
+ * Coroutines for translated programs compiled with option --coroutines.
+ *
+ * Each coroutine runs on a thread of its own, a virtual thread where the
+ * host JVM supports them, otherwise a daemon platform thread.  At any time
+ * only one coroutine runs, all others are parked.  Control is handed from
+ * one coroutine to another by unparking the target and parking the source,
+ * so a transfer involves no locks and no allocation.
+ *
+ * Translation of the PIM procedures of module SYSTEM:
+ *
+ *   NEWPROCESS(P, A, n, new)  =>  new = RuntimeCoroutines.newProcess(P);
+ *
+ *   TRANSFER(from, to)        =>  tmp = to;
+ *                                 from = RuntimeCoroutines.current();
+ *                                 RuntimeCoroutines.transfer(tmp);
+ *
+ * Workspace address A and size n of NEWPROCESS are not used.  Variable from
+ * is assigned before control is transferred since the target coroutine may
+ * read it, the target is evaluated first since it may denote from itself.
+ * IOTRANSFER is not supported as there are no interrupt vectors on the JVM.
+ * ----------------------------------------------------------------------- */
+
+public class RuntimeCoroutines {
+
+/* coroutine type, the Java representation of type PROCESS */
+
+  public static final class Coroutine {
+    private final Thread thread;
+    private volatile boolean resumed;
+    private boolean started;
+
+    private Coroutine (Thread thread, boolean started) {
+      this.thread = thread;
+      this.started = started;
+    } /* Coroutine */
+  } /* Coroutine */
+
+  private static final ThreadFactory factory = newThreadFactory();
+
+  private static final ThreadLocal<Coroutine> running =
+    new ThreadLocal<Coroutine>();
+
+/* returns a new coroutine that executes body when it is first resumed */
+
+  public static Coroutine newProcess (final Runnable body) {
+    final Coroutine[] self = new Coroutine[1];
+    Thread thread = factory.newThread(new Runnable() {
+      public void run () {
+        running.set(self[0]);
+        awaitResume(self[0]);
+        try {
+          body.run();
+        }
+        catch (Throwable e) {
+          e.printStackTrace();
+        } /* end try */
+        /* a coroutine procedure must not return, terminate the program */
+        System.err.println("coroutine procedure terminated");
+        System.exit(1);
+      } /* run */
+    });
+    self[0] = new Coroutine(thread, false);
+    return self[0];
+  } /* newProcess */
+
+/* returns the running coroutine */
+
+  public static Coroutine current () {
+    Coroutine self = running.get();
+    if (self == null) {
+      /* first call from the main program, adopt the calling thread */
+      self = new Coroutine(Thread.currentThread(), true);
+      running.set(self);
+    } /* end if */
+    return self;
+  } /* current */
+
+/* transfers control from the running coroutine to target */
+
+  public static void transfer (Coroutine target) {
+    Coroutine self = current();
+    if (target == self) {
+      return;
+    } /* end if */
+    target.resumed = true;
+    if (target.started) {
+      LockSupport.unpark(target.thread);
+    }
+    else {
+      target.started = true;
+      target.thread.start();
+    } /* end if */
+    awaitResume(self);
+  } /* transfer */
+
+/* parks the calling thread until coroutine self has been resumed */
+
+  private static void awaitResume (Coroutine self) {
+    while (!self.resumed) {
+      LockSupport.park(self);
+    } /* end while */
+    self.resumed = false;
+  } /* awaitResume */
+
+/* returns a virtual thread factory if available, else a daemon factory */
+
+  private static ThreadFactory newThreadFactory () {
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      return (ThreadFactory) Class.forName("java.lang.Thread$Builder")
+        .getMethod("factory").invoke(builder);
+    }
+    catch (ReflectiveOperationException e) {
+      return new ThreadFactory() {
+        public Thread newThread (Runnable body) {
+          Thread thread = new Thread(body);
+          thread.setDaemon(true);
+          return thread;
+        } /* newThread */
+      };
+    } /* end try */
+  } /* newThreadFactory */
+
+} /* RuntimeCoroutines */
+
+/* END OF FILE */
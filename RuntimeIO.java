@@ -0,0 +1,189 @@
+/* M2J -- Modula-2 to Java Translator & Compiler
+ *
+ * Copyright (c) 2016 The Modula-2 Software Foundation
+ *
+ * Author & Maintainer: Benjamin Kowarsch <trijezdci@org.m2sf>
+ *
+ * @synopsis
+ *
+ * M2J is a multi-dialect Modula-2 to Java translator and via-Java compiler.
+ * It supports the dialects described in the 3rd and 4th editions of Niklaus
+ * Wirth's book "Programming in Modula-2" (PIM) published by Springer Verlag,
+ * and an extended mode with select features from the revised language by
+ * B.Kowarsch and R.Sutcliffe "Modula-2 Revision 2010" (M2R10).
+ *
+ * In translator mode, M2J translates Modula-2 source to Java source files.
+ * In compiler mode, M2J compiles Modula-2 source via Java source files
+ * to Java .class files using the host system's resident Java compiler.
+ *
+ * @repository
+ *
+ * https://github.com/m2sf/m2j
+ *
+ * @file
+ *
+ * RuntimeIO.java
+ *
+ * Runtime support for buffered terminal I/O in translated programs.
+ *
+ * @license
+ *
+ * M2J is free software: you can redistribute and/or modify it under the
+ * terms of the GNU Lesser General Public License (LGPL) either version 2.1
+ * or at your choice version 3 as published by the Free Software Foundation.
+ * However, you may not alter the copyright, author and license information.
+ *
+ * M2J is distributed in the hope that it will be useful,  but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  Read the license for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with m2j.  If not, see <https://www.gnu.org/copyleft/lesser.html>.
+ *
+ * NB: Components in the domain part of email addresses are in reverse order.
+ */
+
+package org.m2sf.m2j;
+
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/* --------------------------------------------------------------------------
+ * Buffered terminal input and output used by translated code for modules
+ * InOut and Terminal.  Characters are written to and read from buffers of
+ * BUFFER_SIZE bytes which are transferred with a single channel operation
+ * each time they become full or empty.  Characters are written in 8-bit
+ * encoding, numbers are converted digit by digit into the buffer.  No
+ * objects are allocated per operation.  Output is flushed before input is
+ * read and when the program exits.  Operations must not be called by more
+ * than one thread at a time, coroutines satisfy this requirement.
+ * ----------------------------------------------------------------------- */
+
+public class RuntimeIO {
+
+  public static final int BUFFER_SIZE = 8192; /* bytes */
+
+  private static final FileChannel out =
+    new FileOutputStream(FileDescriptor.out).getChannel();
+
+  private static final FileChannel in =
+    new FileInputStream(FileDescriptor.in).getChannel();
+
+  private static final ByteBuffer outBuffer =
+    ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+  private static final ByteBuffer inBuffer =
+    ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+  private static final byte[] digits = new byte[20];
+
+  private static boolean eof = false;
+
+  static {
+    inBuffer.limit(0);
+    Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+      public void run () {
+        flush();
+      } /* run */
+    }));
+  } /* static */
+
+/* writes character ch */
+
+  public static void writeChar (char ch) {
+    if (!outBuffer.hasRemaining()) {
+      flush();
+    } /* end if */
+    outBuffer.put((byte) ch);
+  } /* writeChar */
+
+/* writes string s up to its terminator */
+
+  public static void writeString (char[] s) {
+    int len = RuntimeStrings.length(s);
+    for (int i = 0; i < len; i++) {
+      writeChar(s[i]);
+    } /* end for */
+  } /* writeString */
+
+/* writes a newline */
+
+  public static void writeLn () {
+    writeChar(ASCII.LF);
+  } /* writeLn */
+
+/* writes value in decimal notation, right aligned in width columns */
+
+  public static void writeInt (long value, int width) {
+    int count = 0;
+    long rest = value;
+    do {
+      /* remainder is negative for negative values, no overflow for MIN */
+      digits[count++] = (byte) ('0' + Math.abs((int) (rest % 10)));
+      rest = rest / 10;
+    } while (rest != 0);
+    int total = (value < 0) ? count + 1 : count;
+    for (int i = total; i < width; i++) {
+      writeChar(' ');
+    } /* end for */
+    if (value < 0) {
+      writeChar('-');
+    } /* end if */
+    while (count > 0) {
+      writeChar((char) digits[--count]);
+    } /* end while */
+  } /* writeInt */
+
+/* reads a character, returns ASCII.NUL at the end of input */
+
+  public static char readChar () {
+    if (!inBuffer.hasRemaining()) {
+      flush();
+      inBuffer.clear();
+      try {
+        if (in.read(inBuffer) <= 0) {
+          inBuffer.limit(0);
+          eof = true;
+          return ASCII.NUL;
+        } /* end if */
+      }
+      catch (IOException e) {
+        inBuffer.limit(0);
+        eof = true;
+        return ASCII.NUL;
+      } /* end try */
+      inBuffer.flip();
+      eof = false;
+    } /* end if */
+    return (char) (inBuffer.get() & 0xFF);
+  } /* readChar */
+
+/* returns true if the last call of readChar() reached the end of input,
+   a terminal may deliver further input after an end of input */
+
+  public static boolean eof () {
+    return eof;
+  } /* eof */
+
+/* writes any buffered output */
+
+  public static void flush () {
+    outBuffer.flip();
+    try {
+      while (outBuffer.hasRemaining()) {
+        out.write(outBuffer);
+      } /* end while */
+    }
+    catch (IOException e) {
+      /* output is lost, nothing can be reported */
+    } /* end try */
+    outBuffer.clear();
+  } /* flush */
+
+} /* RuntimeIO */
+
+/* END OF FILE */
@@ -0,0 +1,179 @@
+/* M2J -- Modula-2 to Java Translator & Compiler
+ *
+ * Copyright (c) 2016 The Modula-2 Software Foundation
+ *
+ * Author & Maintainer: Benjamin Kowarsch <trijezdci@org.m2sf>
+ *
+ * @synopsis
+ *
+ * M2J is a multi-dialect Modula-2 to Java translator and via-Java compiler.
+ * It supports the dialects described in the 3rd and 4th editions of Niklaus
+ * Wirth's book "Programming in Modula-2" (PIM) published by Springer Verlag,
+ * and an extended mode with select features from the revised language by
+ * B.Kowarsch and R.Sutcliffe "Modula-2 Revision 2010" (M2R10).
+ *
+ * In translator mode, M2J translates Modula-2 source to Java source files.
+ * In compiler mode, M2J compiles Modula-2 source via Java source files
+ * to Java .class files using the host system's resident Java compiler.
+ *
+ * @repository
+ *
+ * https://github.com/m2sf/m2j
+ *
+ * @file
+ *
+ * RuntimeSets.java
+ *
+ * Runtime support for large set types in translated programs.
+ *
+ * @license
+ *
+ * M2J is free software: you can redistribute and/or modify it under the
+ * terms of the GNU Lesser General Public License (LGPL) either version 2.1
+ * or at your choice version 3 as published by the Free Software Foundation.
+ * However, you may not alter the copyright, author and license information.
+ *
+ * M2J is distributed in the hope that it will be useful,  but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  Read the license for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with m2j.  If not, see <https://www.gnu.org/copyleft/lesser.html>.
+ *
+ * NB: Components in the domain part of email addresses are in reverse order.
+ */
+
+package org.m2sf.m2j;
+
+/* --------------------------------------------------------------------------
+ * Operations on sets represented as arrays of long, used by translated code
+ * for set types with more than 64 elements.  Element n is represented by
+ * bit (n & 63) of word (n >>> 6).  Smaller sets are represented by a single
+ * long and translated to inline bitwise operations without calls into this
+ * class.  All operations work in place and allocate nothing, except for
+ * method newSet().  Operands must have the same number of words.  Elements
+ * are passed less the ordinal value of the first value of the base type.
+ * For incl() and excl(), element must be within 0 .. elementCount - 1, the
+ * translated code checks this before the call and raises a range error if
+ * it is not.  Method in() accepts any element and returns false for those
+ * out of range.
+ * ----------------------------------------------------------------------- */
+
+public class RuntimeSets {
+
+/* returns the number of words for a set with elementCount elements */
+
+  public static int wordCount (int elementCount) {
+    return (elementCount + 63) >>> 6;
+  } /* wordCount */
+
+/* returns a new empty set for elementCount elements */
+
+  public static long[] newSet (int elementCount) {
+    return new long[wordCount(elementCount)];
+  } /* newSet */
+
+/* adds element to set, INCL(set, element) */
+
+  public static void incl (long[] set, int element) {
+    set[element >>> 6] |= 1L << element;
+  } /* incl */
+
+/* removes element from set, EXCL(set, element) */
+
+  public static void excl (long[] set, int element) {
+    set[element >>> 6] &= ~(1L << element);
+  } /* excl */
+
+/* returns true if element is in set, element IN set */
+
+  public static boolean in (long[] set, int element) {
+    return (element >>> 6) < set.length &&
+      (set[element >>> 6] & (1L << element)) != 0;
+  } /* in */
+
+/* adds elements first to last to set, {first..last} */
+
+  public static void inclRange (long[] set, int first, int last) {
+    if (first > last) {
+      return;
+    } /* end if */
+    int firstWord = first >>> 6;
+    int lastWord = last >>> 6;
+    long firstMask = -1L << first;
+    long lastMask = -1L >>> (63 - (last & 63));
+    if (firstWord == lastWord) {
+      set[firstWord] |= firstMask & lastMask;
+      return;
+    } /* end if */
+    set[firstWord] |= firstMask;
+    for (int i = firstWord + 1; i < lastWord; i++) {
+      set[i] = -1L;
+    } /* end for */
+    set[lastWord] |= lastMask;
+  } /* inclRange */
+
+/* assigns the union of left and right to target, left + right */
+
+  public static void union (long[] target, long[] left, long[] right) {
+    for (int i = 0; i < target.length; i++) {
+      target[i] = left[i] | right[i];
+    } /* end for */
+  } /* union */
+
+/* assigns the difference of left and right to target, left - right */
+
+  public static void difference (long[] target, long[] left, long[] right) {
+    for (int i = 0; i < target.length; i++) {
+      target[i] = left[i] & ~right[i];
+    } /* end for */
+  } /* difference */
+
+/* assigns the intersection of left and right to target, left * right */
+
+  public static void intersection
+    (long[] target, long[] left, long[] right) {
+    for (int i = 0; i < target.length; i++) {
+      target[i] = left[i] & right[i];
+    } /* end for */
+  } /* intersection */
+
+/* assigns the symmetric difference of left and right to target, left/right */
+
+  public static void symDiff (long[] target, long[] left, long[] right) {
+    for (int i = 0; i < target.length; i++) {
+      target[i] = left[i] ^ right[i];
+    } /* end for */
+  } /* symDiff */
+
+/* assigns source to target, target := source */
+
+  public static void assign (long[] target, long[] source) {
+    System.arraycopy(source, 0, target, 0, target.length);
+  } /* assign */
+
+/* returns true if left and right contain the same elements, left = right */
+
+  public static boolean isEqual (long[] left, long[] right) {
+    for (int i = 0; i < left.length; i++) {
+      if (left[i] != right[i]) {
+        return false;
+      } /* end if */
+    } /* end for */
+    return true;
+  } /* isEqual */
+
+/* returns true if left is a subset of right, left <= right */
+
+  public static boolean isSubset (long[] left, long[] right) {
+    for (int i = 0; i < left.length; i++) {
+      if ((left[i] & ~right[i]) != 0) {
+        return false;
+      } /* end if */
+    } /* end for */
+    return true;
+  } /* isSubset */
+
+} /* RuntimeSets */
+
+/* END OF FILE */
@@ -0,0 +1,157 @@
+/* M2J -- Modula-2 to Java Translator & Compiler
+ *
+ * Copyright (c) 2016 The Modula-2 Software Foundation
+ *
+ * Author & Maintainer: Benjamin Kowarsch <trijezdci@org.m2sf>
+ *
+ * @synopsis
+ *
+ * M2J is a multi-dialect Modula-2 to Java translator and via-Java compiler.
+ * It supports the dialects described in the 3rd and 4th editions of Niklaus
+ * Wirth's book "Programming in Modula-2" (PIM) published by Springer Verlag,
+ * and an extended mode with select features from the revised language by
+ * B.Kowarsch and R.Sutcliffe "Modula-2 Revision 2010" (M2R10).
+ *
+ * In translator mode, M2J translates Modula-2 source to Java source files.
+ * In compiler mode, M2J compiles Modula-2 source via Java source files
+ * to Java .class files using the host system's resident Java compiler.
+ *
+ * @repository
+ *
+ * https://github.com/m2sf/m2j
+ *
+ * @file
+ *
+ * RuntimeStrings.java
+ *
+ * Runtime support for character array strings in translated programs.
+ *
+ * @license
+ *
+ * M2J is free software: you can redistribute and/or modify it under the
+ * terms of the GNU Lesser General Public License (LGPL) either version 2.1
+ * or at your choice version 3 as published by the Free Software Foundation.
+ * However, you may not alter the copyright, author and license information.
+ *
+ * M2J is distributed in the hope that it will be useful,  but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  Read the license for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with m2j.  If not, see <https://www.gnu.org/copyleft/lesser.html>.
+ *
+ * NB: Components in the domain part of email addresses are in reverse order.
+ */
+
+package org.m2sf.m2j;
+
+/* --------------------------------------------------------------------------
+ * Operations on Modula-2 strings, represented as arrays of char, used by
+ * translated code.  A string ends at the first ASCII.NUL character or at the
+ * end of its array, whichever comes first.  All operations work in place
+ * on the given arrays and never create java.lang.String objects.
+ *
+ * Where the capability "safe string termination" is on, the target of an
+ * assignment or concatenation is always terminated by ASCII.NUL, the source
+ * is truncated if necessary to leave room for it.  Where it is off, the
+ * terminator is only written if there is room for it.
+ * ----------------------------------------------------------------------- */
+
+public class RuntimeStrings {
+
+/* returns the length of string s */
+
+  public static int length (char[] s) {
+    int len = 0;
+    while ((len < s.length) && (s[len] != ASCII.NUL)) {
+      len++;
+    } /* end while */
+    return len;
+  } /* length */
+
+/* copies source to target, returns false if source has been truncated */
+
+  public static boolean assign
+    (char[] target, char[] source, boolean safeTermination) {
+    return copy(target, 0, source, length(source), safeTermination);
+  } /* assign */
+
+/* copies literal to target, returns false if literal has been truncated */
+
+  public static boolean assignLiteral
+    (char[] target, String literal, boolean safeTermination) {
+    int limit = capacity(target, 0, safeTermination);
+    int count = Math.min(literal.length(), limit);
+    literal.getChars(0, count, target, 0);
+    terminate(target, count);
+    return count == literal.length();
+  } /* assignLiteral */
+
+/* appends source to target, returns false if source has been truncated */
+
+  public static boolean concat
+    (char[] target, char[] source, boolean safeTermination) {
+    return copy(target, length(target), source, length(source),
+      safeTermination);
+  } /* concat */
+
+/* compares left and right, returns -1 if less, 0 if equal, 1 if greater */
+
+  public static int compare (char[] left, char[] right) {
+    int leftLen = length(left);
+    int rightLen = length(right);
+    int len = Math.min(leftLen, rightLen);
+    for (int i = 0; i < len; i++) {
+      if (left[i] != right[i]) {
+        return (left[i] < right[i]) ? -1 : 1;
+      } /* end if */
+    } /* end for */
+    return Integer.compare(leftLen, rightLen);
+  } /* compare */
+
+/* returns true if left and right are equal */
+
+  public static boolean isEqual (char[] left, char[] right) {
+    return compare(left, right) == 0;
+  } /* isEqual */
+
+/* copies count chars of source to target starting at index start,
+   with safe termination a full target loses its last char to the NUL */
+
+  private static boolean copy
+    (char[] target, int start, char[] source, int count,
+     boolean safeTermination) {
+    boolean clamped = false;
+    if (safeTermination && (start > target.length - 1)) {
+      start = Math.max(target.length - 1, 0);
+      clamped = true;
+    } /* end if */
+    int limit = capacity(target, start, safeTermination);
+    int copied = Math.min(count, limit);
+    System.arraycopy(source, 0, target, start, copied);
+    terminate(target, start + copied);
+    return (copied == count) && !clamped;
+  } /* copy */
+
+/* returns the number of chars that fit into target from index start */
+
+  private static int capacity
+    (char[] target, int start, boolean safeTermination) {
+    int room = target.length - start;
+    if (safeTermination) {
+      room--;
+    } /* end if */
+    return Math.max(room, 0);
+  } /* capacity */
+
+/* writes a terminator at index end of target if there is room */
+
+  private static void terminate (char[] target, int end) {
+    if (end < target.length) {
+      target[end] = ASCII.NUL;
+    } /* end if */
+  } /* terminate */
+
+} /* RuntimeStrings */
+
+/* END OF FILE */